@@ -0,0 +1,68 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Resume;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The heuristic stage over kept text ({@link ResumeParserService#parseText}) with the
+ * section extractors run one after another and on the extractor pool, to place
+ * {@code app.parser.parallel-min-lines}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelExtractionBenchmark {
+
+    @Param({ "small", "medium", "large" })
+    public String size;
+
+    @Param({ "false", "true" })
+    public boolean parallel;
+
+    private ResumeParserService parser;
+    private ForkJoinPool pool;
+    private byte[] extractedText;
+
+    @Setup
+    public void setUp() {
+        parser = ResumeCorpus.newParser();
+        if (parallel) {
+            pool = new ForkJoinPool();
+            parser.useParallelExtraction(pool, 1);
+        }
+        ExtractedText.Builder text = new ExtractedText.Builder();
+        for (String line : ResumeCorpus.text(size).split("\n")) {
+            text.line(line, false);
+        }
+        extractedText = text.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Resume.ParsedResumeData parseText() {
+        return parser.parseText(extractedText);
+    }
+}
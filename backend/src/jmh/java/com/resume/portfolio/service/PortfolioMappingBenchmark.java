@@ -0,0 +1,76 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Portfolio;
+import com.resume.portfolio.model.PortfolioMergeReport;
+import com.resume.portfolio.model.Resume;
+import com.resume.portfolio.repository.ResumeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resume-to-portfolio mapping. {@code generatePortfolioFromResume} runs against
+ * stubbed repositories, creating a new portfolio each time, so only the service's
+ * own work (plus stub dispatch) is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PortfolioMappingBenchmark {
+
+    private static final String USER_ID = "user-1";
+    private static final String RESUME_ID = "resume-1";
+
+    private PortfolioService portfolioService;
+    private Resume.ParsedResumeData parsedData;
+
+    @Setup
+    public void setUp() throws Exception {
+        parsedData = ResumeCorpus.newParser()
+                .parseResume(new ByteArrayInputStream(ResumeCorpus.document("medium", "txt")));
+
+        Resume resume = new Resume();
+        resume.setId(RESUME_ID);
+        resume.setUserId(USER_ID);
+        resume.setParsedData(parsedData);
+
+        ResumeRepository resumeRepository = Mockito.mock(ResumeRepository.class);
+        Mockito.when(resumeRepository.findById(RESUME_ID)).thenReturn(Optional.of(resume));
+        // findAndModify answers null: the upsert created the portfolio
+        MongoTemplate mongoTemplate = Mockito.mock(MongoTemplate.class);
+
+        portfolioService = new PortfolioService();
+        ReflectionTestUtils.setField(portfolioService, "resumeRepository", resumeRepository);
+        ReflectionTestUtils.setField(portfolioService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(portfolioService, "portfolioUsernameFilter",
+                new PortfolioUsernameFilter(new SimpleMeterRegistry(), 1000, 0.01));
+    }
+
+    @Benchmark
+    public Portfolio.PortfolioContent buildContent() {
+        return PortfolioService.buildContent(parsedData);
+    }
+
+    @Benchmark
+    public PortfolioMergeReport generatePortfolioFromResume() {
+        return portfolioService.generatePortfolioFromResume(USER_ID, "jordan", RESUME_ID);
+    }
+}
@@ -0,0 +1,113 @@
+package com.resume.portfolio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resume.portfolio.model.Portfolio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost per public portfolio request of producing the response body: serializing
+ * the portfolio with Jackson (and gzipping it, as server compression would) on
+ * every request, against copying out the buffer {@link PublishedPortfolio} rendered
+ * once. The portfolio is the medium corpus resume plus a 48 KB data-URL profile
+ * image. Run with {@code -prof gc} for allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicPortfolioPayloadBenchmark {
+
+    @Param({ "IDENTITY", "GZIP" })
+    public PublishedPortfolio.Coding coding;
+
+    private final OutputStream response = new SendBuffer();
+    private ObjectMapper objectMapper;
+    private Portfolio portfolio;
+    private PublishedPortfolio published;
+
+    @Setup
+    public void setUp() throws Exception {
+        byte[] image = new byte[36 * 1024];
+        new Random(42).nextBytes(image);
+
+        portfolio = new Portfolio();
+        portfolio.setId("portfolio-1");
+        portfolio.setUserId("user-1");
+        portfolio.setUsername("jordan");
+        portfolio.setTheme("modern");
+        portfolio.setPublic(true);
+        portfolio.setContent(PortfolioService.buildContent(ResumeCorpus.newParser()
+                .parseResume(new ByteArrayInputStream(ResumeCorpus.document("medium", "txt")))));
+        portfolio.getContent().setProfileImage("data:image/png;base64," + Base64.getEncoder().encodeToString(image));
+        portfolio.setCreatedAt(LocalDateTime.now());
+        portfolio.setUpdatedAt(LocalDateTime.now());
+
+        // Configured as Spring Boot configures the application's mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        published = PublishedPortfolio.render(portfolio, objectMapper);
+    }
+
+    @Benchmark
+    public void serializePerRequest() throws IOException {
+        if (coding == PublishedPortfolio.Coding.GZIP) {
+            try (OutputStream gzip = new GZIPOutputStream(response)) {
+                objectMapper.writeValue(gzip, portfolio);
+            }
+        } else {
+            objectMapper.writeValue(response, portfolio);
+        }
+    }
+
+    @Benchmark
+    public void servePublished() throws IOException {
+        response.write(published.body(coding));
+    }
+
+    /**
+     * Stands in for the connection's send buffer: bytes are copied into a fixed
+     * array, as the servlet container copies them, and closing it does nothing.
+     */
+    private static final class SendBuffer extends OutputStream {
+        private final byte[] buffer = new byte[64 * 1024];
+        private int position;
+
+        @Override
+        public void write(int b) {
+            buffer[position] = (byte) b;
+            position = (position + 1) % buffer.length;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                int chunk = Math.min(length, buffer.length - position);
+                System.arraycopy(bytes, offset, buffer, position, chunk);
+                position = (position + chunk) % buffer.length;
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.resume.portfolio.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Synthetic resumes for the benchmarks. The text lives in {@code corpus/*.txt};
+ * PDF and DOCX variants are rendered from it in memory so every format carries the
+ * same content.
+ */
+final class ResumeCorpus {
+
+    private static final int LINES_PER_PAGE = 60;
+
+    private ResumeCorpus() {
+    }
+
+    static ResumeParserService newParser() {
+        return new ResumeParserService(new TikaTextExtractor(100_000, 10),
+                new SkillTaxonomy(SkillTaxonomy.DEFAULT_LOCATION),
+                new HeaderClassifier(HeaderClassifier.DEFAULT_LOCATION), new SimpleMeterRegistry(), 60_000);
+    }
+
+    static String text(String size) {
+        try (InputStream in = ResumeCorpus.class.getResourceAsStream("/corpus/" + size + ".txt")) {
+            if (in == null) {
+                throw new IllegalArgumentException("No corpus entry named " + size);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] document(String size, String format) {
+        String text = text(size);
+        try {
+            switch (format) {
+                case "txt":
+                    return text.getBytes(StandardCharsets.UTF_8);
+                case "pdf":
+                    return toPdf(text);
+                case "docx":
+                    return toDocx(text);
+                default:
+                    throw new IllegalArgumentException("Unsupported format " + format);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] toPdf(String text) throws IOException {
+        String[] lines = text.split("\n");
+        try (PDDocument doc = new PDDocument()) {
+            for (int first = 0; first < lines.length; first += LINES_PER_PAGE) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 8);
+                    content.newLineAtOffset(40, 760);
+                    for (int i = first; i < Math.min(lines.length, first + LINES_PER_PAGE); i++) {
+                        content.showText(lines[i]);
+                        content.newLineAtOffset(0, -12);
+                    }
+                    content.endText();
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] toDocx(String text) throws IOException {
+        try (XWPFDocument doc = new XWPFDocument()) {
+            for (String line : text.split("\n")) {
+                doc.createParagraph().createRun().setText(line);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.write(out);
+            return out.toByteArray();
+        }
+    }
+}
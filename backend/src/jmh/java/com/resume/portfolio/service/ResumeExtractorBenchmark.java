@@ -0,0 +1,99 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Resume;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each heuristic stage of the parser on already-extracted text, so a regression can
+ * be pinned to a single extractor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResumeExtractorBenchmark {
+
+    @Param({ "small", "medium", "large" })
+    public String size;
+
+    private ResumeParserService parser;
+    private String content;
+    private ResumeSections sections;
+    private SkillTaxonomy skillTaxonomy;
+    private HeaderClassifier headerClassifier;
+    private final ParseBudget budget = ParseBudget.unlimited();
+
+    @Setup
+    public void setUp() {
+        parser = ResumeCorpus.newParser();
+        content = ResumeCorpus.text(size);
+        headerClassifier = new HeaderClassifier(HeaderClassifier.DEFAULT_LOCATION);
+        sections = ResumeSections.index(content, headerClassifier);
+        skillTaxonomy = new SkillTaxonomy(SkillTaxonomy.DEFAULT_LOCATION);
+    }
+
+    @Benchmark
+    public ResumeSections indexSections() {
+        return ResumeSections.index(content, headerClassifier);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return parser.extractEmail(content, budget);
+    }
+
+    @Benchmark
+    public String extractPhone() {
+        return parser.extractPhone(content, budget);
+    }
+
+    @Benchmark
+    public String extractSummary() {
+        return parser.extractSummary(sections, budget);
+    }
+
+    @Benchmark
+    public List<String> extractSkills() {
+        return parser.extractSkills(sections.section(SectionKind.SKILLS), budget);
+    }
+
+    @Benchmark
+    public List<SkillTaxonomy.Skill> findSkills() {
+        return skillTaxonomy.findAll(content);
+    }
+
+    @Benchmark
+    public List<Resume.Experience> extractExperience() {
+        return parser.extractExperience(sections.section(SectionKind.EXPERIENCE), budget);
+    }
+
+    @Benchmark
+    public List<Resume.Education> extractEducation() {
+        return parser.extractEducation(sections.section(SectionKind.EDUCATION), budget);
+    }
+
+    @Benchmark
+    public List<Resume.Project> extractProjects() {
+        return parser.extractProjects(sections.section(SectionKind.PROJECTS), budget);
+    }
+
+    @Benchmark
+    public List<String> extractCertifications() {
+        return parser.extractSimpleList(sections.section(SectionKind.CERTIFICATIONS), budget);
+    }
+}
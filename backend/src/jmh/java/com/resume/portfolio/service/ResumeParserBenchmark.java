@@ -0,0 +1,50 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Resume;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link ResumeParserService#parseResume} cost: Tika extraction plus all
+ * heuristics, per corpus size and file format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResumeParserBenchmark {
+
+    @Param({ "small", "medium", "large" })
+    public String size;
+
+    @Param({ "txt", "pdf", "docx" })
+    public String format;
+
+    private ResumeParserService parser;
+    private byte[] document;
+
+    @Setup
+    public void setUp() {
+        parser = ResumeCorpus.newParser();
+        document = ResumeCorpus.document(size, format);
+    }
+
+    @Benchmark
+    public Resume.ParsedResumeData parseResume() throws Exception {
+        return parser.parseResume(new ByteArrayInputStream(document));
+    }
+}
@@ -0,0 +1,123 @@
+package com.resume.portfolio.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Per-line cost of header detection, cycling through every line of the large
+ * corpus resume (headers and body lines in their natural mix). {@code classify}
+ * is the {@link HeaderClassifier}; {@code legacy} is the contains() chain it
+ * replaced, kept here as the baseline, asked the same questions: is the line a
+ * header, and which sections does it open or continue.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SectionHeaderBenchmark {
+
+    private static final String[][] LEGACY_KEYWORDS = {
+            { "summary", "objective", "profile", "about" },
+            { "skills", "technologies", "competencies", "stack" },
+            { "experience", "employment", "work history" },
+            { "education", "academic", "qualification" },
+            { "projects", "portfolio" },
+            { "certifications", "certificates", "credentials", "licenses" },
+            { "languages", "spoken languages" },
+            { "awards", "honors", "achievements", "accomplishments" },
+    };
+
+    private static final Pattern LEGACY_SKILL_SUBCATEGORY = Pattern.compile(
+            "^(languages?|frameworks?|tools?|databases?|libraries?|web technologies?|concepts?|platforms?|programming languages?|core competencies?)\\s*(:.*)?$");
+
+    private String[] lines;
+    private int next;
+    private HeaderClassifier classifier;
+
+    @Setup
+    public void setUp() {
+        lines = Arrays.stream(ResumeCorpus.text("large").split("\n"))
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .map(String::toLowerCase)
+                .toArray(String[]::new);
+        classifier = new HeaderClassifier(HeaderClassifier.DEFAULT_LOCATION);
+    }
+
+    @Benchmark
+    public int classify() {
+        HeaderClassifier.Result result = classifier.classify(nextLine());
+        int bits = result.isHeader() ? 1 : 0;
+        for (SectionKind kind : SectionKind.values()) {
+            bits = bits << 2 | (result.opens(kind) ? 2 : 0) | (result.continues(kind) ? 1 : 0);
+        }
+        return bits;
+    }
+
+    @Benchmark
+    public int legacy() {
+        String line = nextLine();
+        int bits = legacyIsSectionHeader(line) ? 1 : 0;
+        for (int kind = 0; kind < LEGACY_KEYWORDS.length; kind++) {
+            boolean starts = legacyStarts(kind, line);
+            boolean continues = starts || (kind == 1 && LEGACY_SKILL_SUBCATEGORY.matcher(line).matches());
+            bits = bits << 2 | (starts ? 2 : 0) | (continues ? 1 : 0);
+        }
+        return bits;
+    }
+
+    private String nextLine() {
+        String line = lines[next];
+        next = next + 1 == lines.length ? 0 : next + 1;
+        return line;
+    }
+
+    private static boolean legacyStarts(int kind, String lowerHeader) {
+        for (String keyword : LEGACY_KEYWORDS[kind]) {
+            if (lowerHeader.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean legacyIsSectionHeader(String line) {
+        String l = line.toLowerCase();
+        if (l.length() > 60)
+            return false;
+
+        if (l.contains("programming language") || l.contains("programming languages")
+                || l.contains("markup language")) {
+            return false;
+        }
+
+        return l.equals("experience") || l.equals("work experience") || l.equals("education") ||
+                l.equals("skills") || l.equals("technical skills") || l.equals("projects") ||
+                l.equals("summary") || l.equals("objective") || l.equals("profile") ||
+                l.equals("certifications") || l.equals("activities") || l.equals("achievements") ||
+                l.equals("workshops") || l.equals("languages") || l.equals("interests") ||
+                l.equals("awards") || l.equals("publications") || l.equals("references") ||
+                l.equals("volunteering") ||
+                l.contains("experience") || l.contains("education") || l.contains("skill") || l.contains("project") ||
+                l.contains("certificat") || l.contains("activit") || l.contains("achieve") ||
+                l.contains("workshop") || l.contains("language") || l.contains("interest") ||
+                l.contains("award") || l.contains("publicat") || l.contains("reference") ||
+                l.contains("volunteer") || l.contains("curricular") ||
+                l.contains("contact") || l.contains("link") || l.contains("social") || l.contains("connect") ||
+                l.equals("additional info") || l.equals("miscellaneous");
+    }
+}
@@ -0,0 +1,50 @@
+package com.resume.portfolio.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Bounded pool that runs the parse and portfolio-generation stages of resume
+     * uploads off the servlet threads. When the queue is full further submissions
+     * are rejected rather than piling up.
+     */
+    @Bean(name = "resumeIngestionExecutor")
+    public ThreadPoolTaskExecutor resumeIngestionExecutor(
+            @Value("${app.ingestion.workers:0}") int workers,
+            @Value("${app.ingestion.queue-capacity:100}") int queueCapacity) {
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("resume-ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Work-stealing pool that parses bulk-import entries, one thread per core by default. */
+    @Bean(name = "bulkImportPool", destroyMethod = "shutdown")
+    public ExecutorService bulkImportPool(@Value("${app.bulk-import.workers:0}") int workers) {
+        return new ForkJoinPool(workers > 0 ? workers : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Pool the parser runs the section extractors of one large resume on concurrently
+     * (see {@code app.parser.parallel-min-lines}), shared by all parses.
+     */
+    @Bean(name = "resumeExtractorPool", destroyMethod = "shutdown")
+    public ForkJoinPool resumeExtractorPool(@Value("${app.parser.parallel-workers:0}") int workers) {
+        return new ForkJoinPool(workers > 0 ? workers : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -1,8 +1,15 @@
 package com.resume.portfolio.controller;
 
+import com.resume.portfolio.dto.BulkImportResponse;
+import com.resume.portfolio.dto.MessageResponse;
+import com.resume.portfolio.model.ReprocessingRun;
 import com.resume.portfolio.model.User;
 import com.resume.portfolio.repository.UserRepository;
+import com.resume.portfolio.service.BulkResumeImportService;
+import com.resume.portfolio.service.ResumeReprocessingService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -17,9 +24,65 @@ public class AdminController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BulkResumeImportService bulkResumeImportService;
+
+    @Autowired
+    private ResumeReprocessingService resumeReprocessingService;
+
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<User>> getAllUsers() {
         return ResponseEntity.ok(userRepository.findAll());
     }
+
+    /**
+     * Imports every resume in a ZIP archive for the given user. The archive is sent
+     * as the raw request body and streamed, so it is never spooled to disk.
+     */
+    @PostMapping(value = "/resumes/import", consumes = { "application/zip", "application/octet-stream" })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importResumes(@RequestParam String username, HttpServletRequest request) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("User not found: " + username));
+        }
+
+        try {
+            BulkImportResponse result = bulkResumeImportService.importZip(request.getInputStream(), user.getId());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Could not import archive: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Re-runs the parser heuristics over every stored resume behind the current
+     * parser version, in the background. Continues an unfinished run.
+     */
+    @PostMapping("/resumes/reprocess")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> startReprocessing() {
+        try {
+            ReprocessingRun run = resumeReprocessingService.start();
+            return ResponseEntity.accepted().body(run);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/resumes/reprocess/pause")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> pauseReprocessing() {
+        resumeReprocessingService.pause();
+        return ResponseEntity.ok(new MessageResponse("Reprocessing will pause after the current batch"));
+    }
+
+    @GetMapping("/resumes/reprocess")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getReprocessingStatus() {
+        return resumeReprocessingService.status()
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.ok(new MessageResponse("No reprocessing run has been started")));
+    }
 }
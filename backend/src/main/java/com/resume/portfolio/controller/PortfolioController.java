@@ -1,6 +1,7 @@
 package com.resume.portfolio.controller;
 
 import com.resume.portfolio.model.Portfolio;
+import com.resume.portfolio.model.PortfolioMergeReport;
 import com.resume.portfolio.service.PortfolioService;
 import com.resume.portfolio.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/portfolio")
@@ -21,6 +23,9 @@ public class PortfolioController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PortfolioResponses portfolioResponses;
+
     @PostMapping("/generate/{resumeId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> generatePortfolio(@PathVariable String resumeId) {
@@ -29,8 +34,8 @@ public class PortfolioController {
         String userId = userRepository.findByUsername(username).get().getId();
 
         try {
-            Portfolio portfolio = portfolioService.generatePortfolioFromResume(userId, resumeId);
-            return ResponseEntity.ok(portfolio);
+            PortfolioMergeReport report = portfolioService.generatePortfolioFromResume(userId, username, resumeId);
+            return ResponseEntity.ok(report);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -45,7 +50,7 @@ public class PortfolioController {
 
         try {
             Portfolio portfolio = portfolioService.getPortfolioByUserId(userId);
-            return ResponseEntity.ok(portfolio);
+            return portfolioResponses.ownerPortfolio(portfolio);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -67,10 +72,9 @@ public class PortfolioController {
     }
 
     @GetMapping("/p/{username}")
-    public ResponseEntity<?> getPublicPortfolio(@PathVariable String username) {
+    public ResponseEntity<?> getPublicPortfolio(@PathVariable String username, WebRequest request) {
         try {
-            Portfolio portfolio = portfolioService.getPublicPortfolio(username);
-            return ResponseEntity.ok(portfolio);
+            return portfolioResponses.publicPortfolio(username, request);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -0,0 +1,209 @@
+package com.resume.portfolio.controller;
+
+import com.resume.portfolio.model.Portfolio;
+import com.resume.portfolio.service.PortfolioService;
+import com.resume.portfolio.service.PortfolioSnapshotService;
+import com.resume.portfolio.service.PublishedPortfolio;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conditional GET for portfolio responses. Every portfolio write increments its
+ * version, and the strong ETag is built from that. Last-Modified still comes from
+ * {@code updatedAt}, but two writes can share a clock tick, so 304s are decided on
+ * the ETag alone. Public views may be kept by shared caches (for
+ * {@code app.portfolio.public-max-age-seconds}, then revalidated); the owner's view
+ * is private and revalidated on every use.
+ *
+ * <p>Public views are copied out of the {@link PublishedPortfolio} buffers in the
+ * best content coding the client accepts; each coding is a representation of its
+ * own, with its own ETag.
+ *
+ * <p>Pre-rendered HTML snapshots are plain files, validated by their modification
+ * time and size. Each request first checks the portfolio is still public and which
+ * version it is at, from the cache like the JSON's 304s; a snapshot that is missing
+ * or older, e.g. written before an edit made on another instance, is rendered
+ * again before it is served. They may be reused for
+ * {@code app.portfolio.snapshot-max-age-seconds} and must then be revalidated, so a
+ * page made private stops being served within that time. The page and the JSON
+ * share a URL, so both vary by Accept.
+ */
+@Component
+class PortfolioResponses {
+
+    private static final CacheControl OWNER_POLICY = CacheControl.noCache().cachePrivate();
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private PortfolioSnapshotService portfolioSnapshotService;
+
+    private final CacheControl publicPolicy;
+    private final CacheControl snapshotPolicy;
+
+    PortfolioResponses(@Value("${app.portfolio.public-max-age-seconds:0}") long publicMaxAgeSeconds,
+            @Value("${app.portfolio.snapshot-max-age-seconds:300}") long snapshotMaxAgeSeconds) {
+        this.publicPolicy = publicMaxAgeSeconds > 0
+                ? CacheControl.maxAge(publicMaxAgeSeconds, TimeUnit.SECONDS).cachePublic().mustRevalidate()
+                : CacheControl.noCache().cachePublic();
+        this.snapshotPolicy = CacheControl.maxAge(snapshotMaxAgeSeconds, TimeUnit.SECONDS).cachePublic()
+                .mustRevalidate();
+    }
+
+    /**
+     * {@code username}'s public portfolio, or a 304 if the client's copy is current;
+     * the 304 is decided without loading the portfolio itself. A 404 if there is no
+     * such portfolio or it is private.
+     */
+    ResponseEntity<?> publicPortfolio(String username, WebRequest request) {
+        PublishedPortfolio.Coding coding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        Long version = portfolioService.getPublicPortfolioVersion(username).orElse(null);
+        if (version != null && request.checkNotModified(etag(version, coding))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(publicPolicy)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        PublishedPortfolio portfolio = portfolioService.getPublicPortfolio(username).orElse(null);
+        if (portfolio == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(publicPolicy)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (coding.token() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, coding.token());
+        }
+        response.eTag(etag(portfolio.getVersion(), coding));
+        if (portfolio.getUpdatedAt() != null) {
+            response.lastModified(lastModified(portfolio.getUpdatedAt()));
+        }
+        // Written to the response as is: no serialization or compression per request
+        return response.body(portfolio.body(coding));
+    }
+
+    /**
+     * {@code username}'s pre-rendered page, or a 304 if the client's copy is current.
+     * A public portfolio whose snapshot is missing or older than its current version
+     * has one rendered first. Empty if the portfolio is private or missing, or its
+     * snapshot could not be rendered.
+     */
+    Optional<ResponseEntity<Resource>> publicSnapshot(String username, WebRequest request) {
+        Optional<Long> version = portfolioService.getPublicPortfolioVersion(username);
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Path> snapshot = portfolioSnapshotService.find(username, version.get());
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        long lastModified;
+        long size;
+        try {
+            lastModified = Files.getLastModifiedTime(snapshot.get()).toMillis();
+            size = Files.size(snapshot.get());
+        } catch (IOException e) {
+            // Removed in between, e.g. the portfolio just went private
+            return Optional.empty();
+        }
+        String etag = "\"s" + Long.toString(lastModified, 36) + "-" + Long.toString(size, 36) + "\"";
+        if (request.checkNotModified(etag, lastModified)) {
+            return Optional.of(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(snapshotPolicy)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build());
+        }
+        return Optional.of(ResponseEntity.ok()
+                .cacheControl(snapshotPolicy)
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .body(new FileSystemResource(snapshot.get())));
+    }
+
+    /** The owner's own portfolio; a matching If-None-Match still gets a 304. */
+    ResponseEntity<Portfolio> ownerPortfolio(Portfolio portfolio) {
+        return withValidators(portfolio, OWNER_POLICY);
+    }
+
+    // Spring answers 304 itself when the request's validators match these
+    private static ResponseEntity<Portfolio> withValidators(Portfolio portfolio, CacheControl policy) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(policy)
+                .eTag(etag(PublishedPortfolio.versionOf(portfolio), PublishedPortfolio.Coding.IDENTITY));
+        if (portfolio.getUpdatedAt() != null) {
+            response.lastModified(lastModified(portfolio.getUpdatedAt()));
+        }
+        return response.body(portfolio);
+    }
+
+    private static String etag(long version, PublishedPortfolio.Coding coding) {
+        String tag = "v" + Long.toString(version, 36);
+        return "\"" + (coding.token() != null ? tag + "-" + coding.token() : tag) + "\"";
+    }
+
+    // Gzip where accepted, else deflate, else identity; q=0 refuses a coding
+    static PublishedPortfolio.Coding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return PublishedPortfolio.Coding.IDENTITY;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = q;
+            } else if (name.equals("deflate")) {
+                deflate = q;
+            } else if (name.equals("*")) {
+                any = q;
+            }
+        }
+        gzip = gzip >= 0 ? gzip : any;
+        deflate = deflate >= 0 ? deflate : any;
+        if (gzip > 0 && gzip >= deflate) {
+            return PublishedPortfolio.Coding.GZIP;
+        }
+        return deflate > 0 ? PublishedPortfolio.Coding.DEFLATE : PublishedPortfolio.Coding.IDENTITY;
+    }
+
+    // LocalDateTime is stored and read back in the server's zone
+    private static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,10 +1,11 @@
 package com.resume.portfolio.controller;
 
-import com.resume.portfolio.model.Portfolio;
-import com.resume.portfolio.service.PortfolioService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/p")
@@ -12,13 +13,23 @@ import org.springframework.web.bind.annotation.*;
 public class PublicPortfolioController {
 
     @Autowired
-    private PortfolioService portfolioService;
+    private PortfolioResponses portfolioResponses;
 
     @GetMapping("/{username}")
-    public ResponseEntity<?> getPublicPortfolio(@PathVariable String username) {
+    public ResponseEntity<?> getPublicPortfolio(@PathVariable String username, WebRequest request) {
         try {
-            Portfolio portfolio = portfolioService.getPublicPortfolio(username);
-            return ResponseEntity.ok(portfolio);
+            return portfolioResponses.publicPortfolio(username, request);
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Browsers opening the link get the pre-rendered page; API clients still get JSON
+    @GetMapping(value = "/{username}", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<Resource> getPublicPortfolioPage(@PathVariable String username, WebRequest request) {
+        try {
+            return portfolioResponses.publicSnapshot(username, request)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -1,11 +1,15 @@
 package com.resume.portfolio.controller;
 
 import com.resume.portfolio.model.Resume;
+import com.resume.portfolio.model.ResumeJob;
 import com.resume.portfolio.repository.ResumeRepository;
-import com.resume.portfolio.service.FileStorageService;
-import com.resume.portfolio.service.ResumeParserService;
+import com.resume.portfolio.service.AdmissionRejectedException;
+import com.resume.portfolio.service.ResumeIngestionService;
 import com.resume.portfolio.security.JwtUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +17,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -22,10 +27,7 @@ import java.util.List;
 public class ResumeController {
 
     @Autowired
-    private FileStorageService fileStorageService;
-
-    @Autowired
-    private ResumeParserService resumeParserService;
+    private ResumeIngestionService resumeIngestionService;
 
     @Autowired
     private ResumeRepository resumeRepository;
@@ -33,9 +35,6 @@ public class ResumeController {
     @Autowired
     private com.resume.portfolio.repository.UserRepository userRepository;
 
-    @Autowired
-    private com.resume.portfolio.service.PortfolioService portfolioService;
-
     @PostMapping("/upload")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> uploadResume(@RequestParam("file") MultipartFile file) {
@@ -44,36 +43,36 @@ public class ResumeController {
             String username = auth.getName();
             String userId = userRepository.findByUsername(username).get().getId();
 
-            String fileName = fileStorageService.storeFile(file, userId);
-
-            Resume.ParsedResumeData parsedData = resumeParserService.parseResume(file.getInputStream());
-
-            Resume resume = new Resume();
-            resume.setUserId(userId);
-            resume.setOriginalFileName(file.getOriginalFilename());
-            resume.setFileUrl("/uploads/" + fileName); // Assuming static serve
-            resume.setFileType(file.getContentType());
-            resume.setParsedData(parsedData);
-            resume.setCreatedAt(LocalDateTime.now());
-            resume.setUpdatedAt(LocalDateTime.now());
-            resume.setUsedInPortfolio(false);
-
-            Resume savedResume = resumeRepository.save(resume);
-
-            // Auto-generate portfolio from resume
-            try {
-                portfolioService.generatePortfolioFromResume(userId, savedResume.getId());
-            } catch (Exception e) {
-                // Log error but don't fail the upload
-                System.err.println("Failed to auto-generate portfolio: " + e.getMessage());
-            }
-
-            return ResponseEntity.ok(savedResume);
+            // Parsing and portfolio generation continue in the background
+            ResumeJob job = resumeIngestionService.submit(userId, username, file);
+
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/resumes/jobs/" + job.getId()))
+                    .body(job);
+        } catch (AdmissionRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Too many resumes are being processed right now. Please try again shortly.");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Could not upload the file: " + e.getMessage());
         }
     }
 
+    @GetMapping("/jobs/{id}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getUploadJob(@PathVariable String id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth.getName();
+        String userId = userRepository.findByUsername(username).get().getId();
+
+        return resumeIngestionService.getJob(userId, id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<List<Resume>> getUserResumes() {
@@ -0,0 +1,37 @@
+package com.resume.portfolio.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkImportResponse {
+    private int totalEntries;
+    private int imported;
+    private int reused; // Parse result taken from an earlier identical upload
+    private int skipped;
+    private int failed;
+    private long elapsedMillis;
+    private double entriesPerSecond;
+    private double megabytesPerSecond;
+    private List<EntryResult> entries = new ArrayList<>();
+    private String archiveError; // Why reading the archive stopped early; entries read until then are reported
+
+    @Data
+    public static class EntryResult {
+        private String name;
+        private Status status;
+        private String resumeId;
+        private String error;
+        private long sizeBytes;
+        private long parseMillis;
+    }
+
+    public enum Status {
+        IMPORTED,
+        REUSED,
+        SKIPPED,
+        FAILED
+    }
+}
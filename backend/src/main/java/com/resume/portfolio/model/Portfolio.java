@@ -14,7 +14,7 @@ public class Portfolio {
     @Id
     private String id;
 
-    @Indexed
+    @Indexed(unique = true) // Created by PortfolioService.ensureIndexes
     private String userId;
 
     @Indexed(unique = true)
@@ -26,6 +26,8 @@ public class Portfolio {
     private boolean isPublic;
 
     private PortfolioContent content;
+    private String resumeId; // Resume the content was last generated from
+    private Long version; // Incremented by every write; null on documents from before it existed
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
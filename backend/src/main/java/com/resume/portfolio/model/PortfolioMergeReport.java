@@ -0,0 +1,37 @@
+package com.resume.portfolio.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What regenerating a portfolio from a resume changed. Only sections that changed
+ * are listed; items are named as the user would recognize them ("Engineer at
+ * Acme", "Java").
+ */
+@Data
+public class PortfolioMergeReport {
+
+    public enum Mode {
+        CREATED, // First portfolio for the user, built from the resume
+        REBUILT, // Nothing to diff against, so the content was replaced
+        MERGED, // Resume changes applied on top of the existing content
+        UNCHANGED // The resume brought nothing new
+    }
+
+    private Mode mode;
+    private String resumeId;
+    private String previousResumeId;
+    private List<SectionChange> sections = new ArrayList<>();
+
+    @Data
+    public static class SectionChange {
+        private String section;
+        private List<String> added = new ArrayList<>();
+        private List<String> updated = new ArrayList<>();
+        private List<String> removed = new ArrayList<>();
+        // The resume changed these too, but the portfolio's edited version was kept
+        private List<String> keptEdits = new ArrayList<>();
+    }
+}
@@ -0,0 +1,43 @@
+package com.resume.portfolio.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of re-running the parser heuristics over stored resumes. Doubles as the
+ * checkpoint: every resume with an id up to {@code lastResumeId} has been handled,
+ * so an interrupted run continues from there.
+ */
+@Data
+@Document(collection = "reprocessing_runs")
+public class ReprocessingRun {
+    @Id
+    private String id;
+
+    private int parserVersion; // Version resumes are being brought up to
+
+    private Status status;
+
+    private String lastResumeId;
+
+    private long total; // Resumes behind parserVersion when the run started
+    private long reparsed;
+    private long skipped; // No stored text (uploaded before text was kept)
+    private long failed;
+
+    private String error;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public enum Status {
+        RUNNING,
+        PAUSED,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -1,5 +1,6 @@
 package com.resume.portfolio.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -24,7 +25,10 @@ public class Resume {
 
     private ParsedResumeData parsedData;
 
-    private boolean isUsedInPortfolio;
+    @JsonIgnore
+    private byte[] extractedText; // Deflated normalized text, for reprocessing without Tika
+
+    private int parserVersion; // Parser that produced parsedData
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -36,12 +40,16 @@ public class Resume {
         private String phone;
         private String summary;
         private List<String> skills;
+        @Indexed
+        private List<String> skillIds; // Canonical SkillTaxonomy ids mentioned anywhere in the resume
         private List<Experience> experience;
         private List<Education> education;
         private List<Project> projects;
         private List<String> certifications;
         private List<String> languages;
         private List<String> awards;
+        // Parse ran out of its time budget; sections after that point are empty
+        private boolean partial;
     }
 
     @Data
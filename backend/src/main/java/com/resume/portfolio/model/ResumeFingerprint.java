@@ -0,0 +1,26 @@
+package com.resume.portfolio.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parse result for a given file content, keyed by the SHA-256 of the upload.
+ * Only valid while {@code parserVersion} matches the running parser.
+ */
+@Data
+@Document(collection = "resume_fingerprints")
+public class ResumeFingerprint {
+    @Id
+    private String contentHash;
+
+    private int parserVersion;
+
+    private Resume.ParsedResumeData parsedData;
+
+    private byte[] extractedText; // Same form as Resume.extractedText
+
+    private LocalDateTime createdAt;
+}
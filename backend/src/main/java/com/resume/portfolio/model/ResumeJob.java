@@ -0,0 +1,46 @@
+package com.resume.portfolio.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document(collection = "resume_jobs")
+public class ResumeJob {
+    @Id
+    private String id;
+
+    @Indexed
+    private String userId;
+    private String username; // Owner's, for the portfolio the resume generates
+
+    private String originalFileName;
+    private String fileName; // Stored upload, relative to the upload dir
+    private String fileType;
+    private String contentHash; // SHA-256 of the upload
+
+    private Status status;
+    private String error;
+
+    private String resumeId;
+    private PortfolioMergeReport portfolioChanges; // What the resume changed in the portfolio
+
+    @Transient
+    private Resume resume; // Filled in when the job is reported back to its owner
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public enum Status {
+        QUEUED,
+        PARSING,
+        GENERATING_PORTFOLIO,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,7 @@
+package com.resume.portfolio.repository;
+
+import com.resume.portfolio.model.ReprocessingRun;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ReprocessingRunRepository extends MongoRepository<ReprocessingRun, String> {
+}
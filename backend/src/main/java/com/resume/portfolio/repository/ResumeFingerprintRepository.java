@@ -0,0 +1,7 @@
+package com.resume.portfolio.repository;
+
+import com.resume.portfolio.model.ResumeFingerprint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ResumeFingerprintRepository extends MongoRepository<ResumeFingerprint, String> {
+}
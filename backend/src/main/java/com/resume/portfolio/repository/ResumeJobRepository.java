@@ -0,0 +1,9 @@
+package com.resume.portfolio.repository;
+
+import com.resume.portfolio.model.ResumeJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.Optional;
+
+public interface ResumeJobRepository extends MongoRepository<ResumeJob, String> {
+    Optional<ResumeJob> findByIdAndUserId(String id, String userId);
+}
@@ -3,10 +3,7 @@ package com.resume.portfolio.repository;
 import com.resume.portfolio.model.Resume;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
-import java.util.Optional;
 
 public interface ResumeRepository extends MongoRepository<Resume, String> {
     List<Resume> findByUserId(String userId);
-
-    Optional<Resume> findByUserIdAndIsUsedInPortfolioTrue(String userId);
 }
@@ -0,0 +1,19 @@
+package com.resume.portfolio.service;
+
+/**
+ * Thrown when a resume upload is turned away by the {@link ParseAdmissionLimiter};
+ * the client should try again after {@link #getRetryAfterSeconds()}.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(long retryAfterSeconds) {
+        super("Too many resumes are being processed right now. Please try again shortly.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
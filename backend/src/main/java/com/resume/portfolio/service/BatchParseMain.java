@@ -0,0 +1,190 @@
+package com.resume.portfolio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Parses every file under a directory with the server's {@link ResumeParserService}
+ * (in-process mode, no Spring, HTTP or MongoDB), for parser evaluation and
+ * migrations. Each result is written as one JSON line as soon as it is ready:
+ * {@code {"file": ..., "millis": ..., "parsedData": {...}}}, or {@code "error"}
+ * instead of {@code parsedData} when the file could not be parsed. Throughput and
+ * latency percentiles go to stderr at the end.
+ *
+ * <pre>
+ * java -cp backend.jar -Dloader.main=com.resume.portfolio.service.BatchParseMain \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher &lt;dir&gt; [options]
+ * </pre>
+ *
+ * Options, defaulting to the server's {@code application.yml} values:
+ * {@code --out <file>} (default stdout), {@code --workers <n>} (one per CPU core),
+ * {@code --max-chars <n>}, {@code --max-embedded-resources <n>},
+ * {@code --time-budget-ms <ms>}, {@code --skill-taxonomy <location>},
+ * {@code --section-headers <location>}.
+ */
+public final class BatchParseMain {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "workers", "0",
+            "max-chars", "100000",
+            "max-embedded-resources", "10",
+            "time-budget-ms", "5000",
+            "skill-taxonomy", SkillTaxonomy.DEFAULT_LOCATION,
+            "section-headers", HeaderClassifier.DEFAULT_LOCATION);
+
+    private BatchParseMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Results may go to stdout; anything else printed (console logging included)
+        // goes to stderr instead
+        OutputStream stdout = new FileOutputStream(FileDescriptor.out);
+        PrintStream stderr = System.err;
+        System.setOut(stderr);
+
+        if (args.length == 0 || args[0].startsWith("--")) {
+            stderr.println("Usage: BatchParseMain <dir> [--out <file>] [--workers <n>] [--max-chars <n>]"
+                    + " [--max-embedded-resources <n>] [--time-budget-ms <ms>]"
+                    + " [--skill-taxonomy <location>] [--section-headers <location>]");
+            System.exit(2);
+        }
+        Path root = Paths.get(args[0]);
+        Map<String, String> options = options(Arrays.copyOfRange(args, 1, args.length));
+
+        ResumeParserService parser = new ResumeParserService(
+                new TikaTextExtractor(Integer.parseInt(options.get("max-chars")),
+                        Integer.parseInt(options.get("max-embedded-resources"))),
+                new SkillTaxonomy(options.get("skill-taxonomy")),
+                new HeaderClassifier(options.get("section-headers")),
+                new SimpleMeterRegistry(),
+                Long.parseLong(options.get("time-budget-ms")));
+        int workers = Integer.parseInt(options.get("workers"));
+        if (workers <= 0) {
+            workers = Runtime.getRuntime().availableProcessors();
+        }
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        OutputStream target = options.containsKey("out")
+                ? Files.newOutputStream(Paths.get(options.get("out")))
+                : stdout;
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8))) {
+            Batch batch = new Batch(parser, root, out, files.size());
+            long started = System.nanoTime();
+            ExecutorService pool = Executors.newFixedThreadPool(workers);
+            files.forEach(file -> pool.execute(() -> batch.parse(file)));
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            batch.report(stderr, System.nanoTime() - started, workers);
+        }
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (int i = 0; i < args.length; i += 2) {
+            String name = args[i].startsWith("--") ? args[i].substring(2) : null;
+            if (name == null || i + 1 >= args.length || !(DEFAULTS.containsKey(name) || name.equals("out"))) {
+                throw new IllegalArgumentException("Unknown or incomplete option: " + args[i]);
+            }
+            options.put(name, args[i + 1]);
+        }
+        return options;
+    }
+
+    /** One run's output and statistics; {@link #parse} is called from every worker. */
+    private static final class Batch {
+        private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        private final ResumeParserService parser;
+        private final Path root;
+        private final Writer out;
+        private final long[] latencies;
+        private final AtomicInteger done = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger partial = new AtomicInteger();
+
+        private Batch(ResumeParserService parser, Path root, Writer out, int files) {
+            this.parser = parser;
+            this.root = root;
+            this.out = out;
+            this.latencies = new long[files];
+        }
+
+        private void parse(Path file) {
+            ObjectNode line = mapper.createObjectNode();
+            line.put("file", root.relativize(file).toString());
+            long started = System.nanoTime();
+            try (InputStream in = Files.newInputStream(file)) {
+                ParsedDocument parsed = parser.parseDocument(in);
+                if (parsed.getParsedData().isPartial()) {
+                    partial.incrementAndGet();
+                }
+                line.set("parsedData", mapper.valueToTree(parsed.getParsedData()));
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                line.put("error", e.getMessage() != null ? e.getMessage() : e.toString());
+            }
+            long elapsed = System.nanoTime() - started;
+            line.put("millis", TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+            try {
+                String json = mapper.writeValueAsString(line);
+                synchronized (this) {
+                    latencies[done.getAndIncrement()] = elapsed;
+                    out.write(json);
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void report(PrintStream err, long elapsedNanos, int workers) {
+            int count = done.get();
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            double seconds = elapsedNanos / 1e9;
+            err.printf("Parsed %d files (%d failed, %d partial) in %.1f s with %d workers: %.1f files/s%n",
+                    count, failed.get(), partial.get(), seconds, workers, count / seconds);
+            if (count > 0) {
+                err.printf("Latency ms: p50 %.1f, p90 %.1f, p99 %.1f, max %.1f%n",
+                        percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                        sorted[count - 1] / 1e6);
+            }
+        }
+
+        // Nearest-rank percentile, in milliseconds
+        private static double percentile(long[] sorted, double p) {
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.dto.BulkImportResponse;
+import com.resume.portfolio.model.Resume;
+import com.resume.portfolio.model.ResumeFingerprint;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports a ZIP archive of resumes for one user. The archive is read entry by
+ * entry straight from the request stream; each entry is stored and parsed on the
+ * {@code bulkImportPool}, and finished {@link Resume} documents are written with
+ * batched inserts. Only a bounded number of entries is held in memory at once,
+ * counted from when an entry is read until its outcome is taken into the report.
+ *
+ * <p>A corrupt or truncated archive ends the import at the bad entry: what was
+ * read until then is still saved and reported, with the archive error attached.
+ * Files stored for resumes that could not be saved are deleted again.
+ */
+@Service
+public class BulkResumeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkResumeImportService.class);
+
+    private static final Set<String> SUPPORTED_EXTENSIONS = Set.of("pdf", "doc", "docx", "rtf", "odt", "txt");
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ResumeParserService resumeParserService;
+
+    @Autowired
+    private ParsedResumeCache parsedResumeCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier("bulkImportPool")
+    private ExecutorService bulkImportPool;
+
+    @Value("${app.bulk-import.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${app.bulk-import.max-entry-bytes:10485760}")
+    private int maxEntryBytes;
+
+    @Value("${app.bulk-import.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.bulk-import.max-pending-entries:0}")
+    private int maxPendingEntries;
+
+    public BulkImportResponse importZip(InputStream zipStream, String userId) throws IOException {
+        long started = System.nanoTime();
+        BulkImportResponse response = new BulkImportResponse();
+        ImportBatch batch = new ImportBatch(response);
+
+        int pendingLimit = maxPendingEntries > 0 ? maxPendingEntries
+                : 2 * Runtime.getRuntime().availableProcessors();
+        Semaphore pendingEntries = new Semaphore(pendingLimit);
+        Deque<CompletableFuture<EntryOutcome>> inFlight = new ArrayDeque<>();
+        long totalBytes = 0;
+
+        try (ZipInputStream zip = new ZipInputStream(zipStream)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory() || isMetadataEntry(entry.getName())) {
+                    continue;
+                }
+                if (response.getTotalEntries() >= maxEntries) {
+                    logger.warn("Bulk import for {} stopped after {} entries", userId, maxEntries);
+                    break;
+                }
+                response.setTotalEntries(response.getTotalEntries() + 1);
+
+                String name = entry.getName();
+                if (!isSupported(name)) {
+                    batch.accept(EntryOutcome.skipped(name, "Unsupported file type"));
+                    continue;
+                }
+
+                byte[] content = zip.readNBytes(maxEntryBytes + 1);
+                if (content.length > maxEntryBytes) {
+                    batch.accept(EntryOutcome.skipped(name, "Entry exceeds " + maxEntryBytes + " bytes"));
+                    continue;
+                }
+                totalBytes += content.length;
+
+                // Permits are returned as outcomes are consumed, so finished outcomes held
+                // up behind a slow entry still count; when none is free, wait for the oldest
+                if (!pendingEntries.tryAcquire()) {
+                    drainCompleted(inFlight, batch, pendingEntries, 1);
+                    pendingEntries.acquireUninterruptibly();
+                }
+                inFlight.addLast(CompletableFuture.supplyAsync(() -> processEntry(name, content, userId),
+                        bulkImportPool));
+                drainCompleted(inFlight, batch, pendingEntries, 0);
+            }
+        } catch (ZipException | EOFException e) {
+            logger.warn("Bulk import for {} stopped at a corrupt archive entry: {}", userId, e.getMessage());
+            response.setArchiveError(e.getMessage() != null
+                    ? "Archive is corrupt or truncated: " + e.getMessage()
+                    : "Archive is corrupt or truncated");
+        } finally {
+            drainCompleted(inFlight, batch, pendingEntries, Integer.MAX_VALUE);
+            batch.flush();
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        double seconds = Math.max(elapsedNanos / 1e9, 1e-9);
+        response.setElapsedMillis(elapsedNanos / 1_000_000);
+        response.setEntriesPerSecond(response.getTotalEntries() / seconds);
+        response.setMegabytesPerSecond(totalBytes / (1024.0 * 1024.0) / seconds);
+        logger.info("Bulk import for {}: {} entries ({} imported, {} reused, {} skipped, {} failed) in {} ms",
+                userId, response.getTotalEntries(), response.getImported(), response.getReused(),
+                response.getSkipped(), response.getFailed(), response.getElapsedMillis());
+        return response;
+    }
+
+    // Completed outcomes are consumed in archive order so the report lines up with the ZIP;
+    // up to wait of them are waited for if still running. Each frees its entry's permit.
+    private void drainCompleted(Deque<CompletableFuture<EntryOutcome>> inFlight, ImportBatch batch,
+            Semaphore pendingEntries, int wait) {
+        for (int consumed = 0; !inFlight.isEmpty() && (consumed < wait || inFlight.peekFirst().isDone());
+                consumed++) {
+            batch.accept(inFlight.pollFirst().join());
+            pendingEntries.release();
+        }
+    }
+
+    private EntryOutcome processEntry(String name, byte[] content, String userId) {
+        long started = System.nanoTime();
+        String fileName = null;
+        try {
+            StoredFile stored = fileStorageService.storeStream(new ByteArrayInputStream(content), baseName(name),
+                    userId);
+            fileName = stored.getFileName();
+
+            Resume.ParsedResumeData parsedData;
+            byte[] extractedText;
+            boolean reused = false;
+            Optional<ResumeFingerprint> known = parsedResumeCache.lookup(stored.getContentHash());
+            if (known.isPresent()) {
+                // Reuse the result only; the entry keeps the file stored for it above
+                parsedData = known.get().getParsedData();
+                extractedText = known.get().getExtractedText();
+                reused = true;
+            } else {
+                ParsedDocument parsed = resumeParserService.parseDocument(new ByteArrayInputStream(content));
+                parsedData = parsed.getParsedData();
+                extractedText = parsed.getExtractedText();
+                parsedResumeCache.record(stored.getContentHash(), extractedText, parsedData);
+            }
+
+            Resume resume = new Resume();
+            resume.setUserId(userId);
+            resume.setOriginalFileName(baseName(name));
+            resume.setFileUrl("/uploads/" + fileName);
+            resume.setFileType(contentType(name));
+            resume.setParsedData(parsedData);
+            resume.setExtractedText(extractedText);
+            resume.setParserVersion(ResumeParserService.PARSER_VERSION);
+            resume.setCreatedAt(LocalDateTime.now());
+            resume.setUpdatedAt(LocalDateTime.now());
+
+            return EntryOutcome.parsed(name, resume, fileName, reused, content.length, System.nanoTime() - started);
+        } catch (Exception e) {
+            if (fileName != null) {
+                fileStorageService.deleteFile(fileName);
+            }
+            return EntryOutcome.failed(name, e.getMessage(), content.length);
+        }
+    }
+
+    private static boolean isMetadataEntry(String name) {
+        return name.startsWith("__MACOSX/") || baseName(name).startsWith(".");
+    }
+
+    private static boolean isSupported(String name) {
+        return SUPPORTED_EXTENSIONS.contains(extension(name));
+    }
+
+    private static String baseName(String name) {
+        return name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String contentType(String name) {
+        switch (extension(name)) {
+            case "pdf":
+                return "application/pdf";
+            case "doc":
+                return "application/msword";
+            case "docx":
+                return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+            case "rtf":
+                return "application/rtf";
+            case "odt":
+                return "application/vnd.oasis.opendocument.text";
+            default:
+                return "text/plain";
+        }
+    }
+
+    /** Collects per-entry results and writes finished resumes in insertMany batches. */
+    private final class ImportBatch {
+        private final BulkImportResponse response;
+        private final List<Resume> pendingResumes = new ArrayList<>();
+        private final List<BulkImportResponse.EntryResult> pendingResults = new ArrayList<>();
+        private final List<String> pendingFiles = new ArrayList<>();
+
+        ImportBatch(BulkImportResponse response) {
+            this.response = response;
+        }
+
+        void accept(EntryOutcome outcome) {
+            response.getEntries().add(outcome.result);
+            switch (outcome.result.getStatus()) {
+                case SKIPPED:
+                    response.setSkipped(response.getSkipped() + 1);
+                    return;
+                case FAILED:
+                    response.setFailed(response.getFailed() + 1);
+                    return;
+                default:
+                    pendingResumes.add(outcome.resume);
+                    pendingResults.add(outcome.result);
+                    pendingFiles.add(outcome.fileName);
+                    if (pendingResumes.size() >= batchSize) {
+                        flush();
+                    }
+            }
+        }
+
+        void flush() {
+            if (pendingResumes.isEmpty()) {
+                return;
+            }
+            // Ids are assigned up front, so after a failed insert the saved ones can be told apart
+            List<String> ids = new ArrayList<>(pendingResumes.size());
+            for (Resume resume : pendingResumes) {
+                resume.setId(new ObjectId().toHexString());
+                ids.add(resume.getId());
+            }
+            try {
+                mongoTemplate.insert(pendingResumes, Resume.class);
+                for (int i = 0; i < pendingResumes.size(); i++) {
+                    saved(i);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Bulk insert of {} resumes failed: {}", pendingResumes.size(), e.getMessage());
+                Set<String> inserted = insertedOf(ids);
+                for (int i = 0; i < pendingResumes.size(); i++) {
+                    if (inserted != null && inserted.contains(ids.get(i))) {
+                        saved(i);
+                        continue;
+                    }
+                    BulkImportResponse.EntryResult result = pendingResults.get(i);
+                    result.setStatus(BulkImportResponse.Status.FAILED);
+                    result.setError("Could not save resume: " + e.getMessage());
+                    response.setFailed(response.getFailed() + 1);
+                    // Unknown whether it was saved: the file stays rather than leave a resume without one
+                    if (inserted != null) {
+                        fileStorageService.deleteFile(pendingFiles.get(i));
+                    }
+                }
+            } finally {
+                pendingResumes.clear();
+                pendingResults.clear();
+                pendingFiles.clear();
+            }
+        }
+
+        private void saved(int index) {
+            BulkImportResponse.EntryResult result = pendingResults.get(index);
+            result.setResumeId(pendingResumes.get(index).getId());
+            if (result.getStatus() == BulkImportResponse.Status.REUSED) {
+                response.setReused(response.getReused() + 1);
+            } else {
+                response.setImported(response.getImported() + 1);
+            }
+        }
+
+        // Which of ids an insert that failed part way still saved; null if that can't be read either
+        private Set<String> insertedOf(List<String> ids) {
+            try {
+                Query query = Query.query(Criteria.where("id").in(ids));
+                query.fields().include("id");
+                Set<String> inserted = new HashSet<>();
+                for (Resume resume : mongoTemplate.find(query, Resume.class)) {
+                    inserted.add(resume.getId());
+                }
+                return inserted;
+            } catch (RuntimeException e) {
+                logger.error("Could not check which resumes of a failed bulk insert were saved: {}",
+                        e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    private static final class EntryOutcome {
+        private final BulkImportResponse.EntryResult result;
+        private final Resume resume;
+        private final String fileName;
+
+        private EntryOutcome(BulkImportResponse.EntryResult result, Resume resume, String fileName) {
+            this.result = result;
+            this.resume = resume;
+            this.fileName = fileName;
+        }
+
+        static EntryOutcome parsed(String name, Resume resume, String fileName, boolean reused, long size,
+                long elapsedNanos) {
+            BulkImportResponse.EntryResult result = newResult(name,
+                    reused ? BulkImportResponse.Status.REUSED : BulkImportResponse.Status.IMPORTED, size);
+            result.setParseMillis(elapsedNanos / 1_000_000);
+            return new EntryOutcome(result, resume, fileName);
+        }
+
+        static EntryOutcome skipped(String name, String reason) {
+            BulkImportResponse.EntryResult result = newResult(name, BulkImportResponse.Status.SKIPPED, 0);
+            result.setError(reason);
+            return new EntryOutcome(result, null, null);
+        }
+
+        static EntryOutcome failed(String name, String error, long size) {
+            BulkImportResponse.EntryResult result = newResult(name, BulkImportResponse.Status.FAILED, size);
+            result.setError("Could not parse the file: " + error);
+            return new EntryOutcome(result, null, null);
+        }
+
+        private static BulkImportResponse.EntryResult newResult(String name, BulkImportResponse.Status status,
+                long size) {
+            BulkImportResponse.EntryResult result = new BulkImportResponse.EntryResult();
+            result.setName(name);
+            result.setStatus(status);
+            result.setSizeBytes(size);
+            return result;
+        }
+    }
+}
@@ -2,9 +2,18 @@ package com.resume.portfolio.service;
 
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.io.InputStream;
 
 public interface FileStorageService {
-    String storeFile(MultipartFile file, String userId) throws IOException;
+    StoredFile storeFile(MultipartFile file, String userId) throws IOException;
+
+    /**
+     * Persists {@code content} in a single read, hashing it on the way. The stream is
+     * consumed to the end but not closed.
+     */
+    StoredFile storeStream(InputStream content, String originalFileName, String userId) throws IOException;
+
+    InputStream openFile(String fileName) throws IOException;
 
     void deleteFile(String fileUrl);
 }
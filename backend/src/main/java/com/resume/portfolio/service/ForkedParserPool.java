@@ -0,0 +1,301 @@
+package com.resume.portfolio.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * Runs resume parsing in a pool of forked JVMs (enabled with
+ * {@code app.parser.mode=forked}) so Tika's allocation spikes, hostile documents
+ * and outright crashes stay out of the API process's heap. Workers are started and
+ * warmed up front, talk {@link ParserWorkerProtocol} over their stdin/stdout, and
+ * are replaced after {@code worker-max-documents} parses, when they die, or when a
+ * parse exceeds {@code worker-timeout-ms}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.parser.mode", havingValue = "forked")
+public class ForkedParserPool {
+
+    private static final Logger log = LoggerFactory.getLogger(ForkedParserPool.class);
+
+    // JVM start plus Tika warm-up; far longer than a parse is allowed to take
+    private static final long STARTUP_TIMEOUT_MILLIS = 60_000;
+    private static final long RESPAWN_DELAY_MILLIS = 5_000;
+
+    private final List<String> command;
+    private final int maxDocuments;
+    private final long timeoutMillis;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+    // Watchdogs only; starting a worker blocks on its handshake, so that happens on
+    // the launcher threads where it cannot hold up a pending kill
+    private final ScheduledExecutorService supervisor = Executors.newSingleThreadScheduledExecutor(
+            daemonThreads("parser-worker-supervisor"));
+    private final ExecutorService launcher = Executors.newCachedThreadPool(daemonThreads("parser-worker-launcher"));
+    private volatile boolean closed;
+
+    public ForkedParserPool(MeterRegistry meterRegistry,
+            @Value("${app.parser.workers:0}") int workers,
+            @Value("${app.parser.worker-heap:256m}") String workerHeap,
+            @Value("${app.parser.worker-max-documents:500}") int maxDocuments,
+            @Value("${app.parser.worker-timeout-ms:30000}") long timeoutMillis,
+            @Value("${app.parser.max-chars:100000}") int maxChars,
+            @Value("${app.parser.max-embedded-resources:10}") int maxEmbeddedResources,
+            @Value("${app.parser.time-budget-ms:5000}") long timeBudgetMs,
+            @Value("${app.parser.skill-taxonomy:" + SkillTaxonomy.DEFAULT_LOCATION + "}") String skillTaxonomy,
+            @Value("${app.parser.section-headers:" + HeaderClassifier.DEFAULT_LOCATION + "}") String sectionHeaders)
+            throws IOException {
+        this.meterRegistry = meterRegistry;
+        this.maxDocuments = maxDocuments;
+        this.timeoutMillis = timeoutMillis;
+        this.command = workerCommand(workerHeap, String.valueOf(maxChars), String.valueOf(maxEmbeddedResources),
+                String.valueOf(timeBudgetMs), skillTaxonomy, sectionHeaders);
+
+        // Start every worker first so they warm up in parallel
+        int size = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        List<Worker> started = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            started.add(launch());
+        }
+        for (Worker worker : started) {
+            awaitReady(worker);
+            idle.add(worker);
+        }
+        meterRegistry.gauge("resume.parser.workers.idle", idle, BlockingQueue::size);
+        log.info("Started {} forked parser workers", size);
+    }
+
+    /**
+     * Parses a document in the next free worker. The stream is read fully but not
+     * closed.
+     */
+    public ParsedDocument parse(InputStream inputStream) throws IOException, InterruptedException {
+        byte[] document = inputStream.readAllBytes();
+
+        // Every worker may be busy or still warming up as a replacement
+        Worker worker = idle.poll(STARTUP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (worker == null) {
+            throw new IllegalStateException("No parser worker became available");
+        }
+
+        ScheduledFuture<?> watchdog = supervisor.schedule(worker::kill, timeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            worker.send(document);
+            int status = worker.in.readUnsignedByte();
+            ParsedDocument parsed = null;
+            String error = null;
+            if (status == ParserWorkerProtocol.OK) {
+                parsed = ParserWorkerProtocol.readDocument(worker.in);
+            } else {
+                error = ParserWorkerProtocol.readString(worker.in);
+            }
+            if (watchdog.cancel(false)) {
+                release(worker);
+            } else {
+                // The watchdog fired after the response was read; its kill may still be running
+                replace(worker, "timeout");
+            }
+
+            if (parsed == null) {
+                throw new RuntimeException(error);
+            }
+            return parsed;
+        } catch (IOException e) {
+            // A watchdog that could not be cancelled has fired, even if its kill is not done yet
+            boolean timedOut = !watchdog.cancel(false) || worker.killed;
+            replace(worker, timedOut ? "timeout" : "crash");
+            throw new IOException("Parser worker " + (timedOut ? "timed out" : "exited") + " while parsing", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        supervisor.shutdownNow();
+        launcher.shutdownNow();
+        Worker worker;
+        while ((worker = idle.poll()) != null) {
+            worker.retire();
+        }
+    }
+
+    // A killed worker is never put back, whatever the caller saw of the kill
+    private void release(Worker worker) {
+        if (worker.killed) {
+            replace(worker, "timeout");
+        } else if (closed) {
+            worker.retire();
+        } else if (++worker.documents >= maxDocuments) {
+            replace(worker, "recycled");
+        } else {
+            idle.add(worker);
+        }
+    }
+
+    private void replace(Worker worker, String reason) {
+        worker.retire();
+        meterRegistry.counter("resume.parser.workers.restarts", "reason", reason).increment();
+        if (!closed) {
+            launcher.execute(this::respawn);
+        }
+    }
+
+    // A worker that fails to start is retried later rather than shrinking the pool
+    // for good
+    private void respawn() {
+        if (closed) {
+            return;
+        }
+        try {
+            Worker worker = launch();
+            awaitReady(worker);
+            if (closed) {
+                worker.retire();
+            } else {
+                idle.add(worker);
+            }
+        } catch (IOException e) {
+            log.warn("Could not start parser worker, retrying in {} ms: {}", RESPAWN_DELAY_MILLIS, e.getMessage());
+            supervisor.schedule(() -> launcher.execute(this::respawn), RESPAWN_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Worker launch() throws IOException {
+        return new Worker(new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start());
+    }
+
+    // A worker that never finishes warming up is killed, which fails the handshake;
+    // one whose kill raced a late handshake fails here instead of joining the pool
+    private void awaitReady(Worker worker) throws IOException {
+        ScheduledFuture<?> watchdog = supervisor.schedule(worker::kill, STARTUP_TIMEOUT_MILLIS,
+                TimeUnit.MILLISECONDS);
+        try {
+            worker.handshake();
+        } catch (IOException e) {
+            watchdog.cancel(false);
+            throw e;
+        }
+        if (!watchdog.cancel(false)) {
+            worker.kill();
+            throw new IOException("Parser worker did not start within " + STARTUP_TIMEOUT_MILLIS + " ms");
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static List<String> workerCommand(String heap, String... args) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + heap);
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        command.add("-Dlogback.configurationFile=parser-worker-logback.xml");
+
+        String classPath = System.getProperty("java.class.path");
+        command.add("-cp");
+        command.add(classPath);
+        if (isExecutableArchive(classPath)) {
+            // Started with java -jar: application classes sit under BOOT-INF, so let
+            // Boot's launcher assemble the class path and run the worker main
+            command.add("-Dloader.main=" + ParserWorkerMain.class.getName());
+            command.add("org.springframework.boot.loader.launch.PropertiesLauncher");
+        } else {
+            command.add(ParserWorkerMain.class.getName());
+        }
+        command.addAll(List.of(args));
+        return command;
+    }
+
+    private static boolean isExecutableArchive(String classPath) {
+        if (classPath.contains(File.pathSeparator) || !classPath.endsWith(".jar")) {
+            return false;
+        }
+        try (JarFile jar = new JarFile(classPath)) {
+            return jar.getEntry("BOOT-INF/classes/") != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static final class Worker {
+        private final Process process;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private int documents;
+        private volatile boolean killed;
+
+        private Worker(Process process) {
+            this.process = process;
+            this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            this.in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+
+        private void handshake() throws IOException {
+            int ready;
+            try {
+                ready = in.readUnsignedByte();
+            } catch (EOFException e) {
+                throw new IOException("Parser worker exited during startup", e);
+            }
+            if (ready != ParserWorkerProtocol.READY) {
+                kill();
+                throw new IOException("Parser worker sent an unexpected handshake");
+            }
+        }
+
+        private void send(byte[] document) throws IOException {
+            out.writeInt(document.length);
+            out.write(document);
+            out.flush();
+        }
+
+        private void kill() {
+            killed = true;
+            process.destroyForcibly();
+        }
+
+        // Closing stdin lets the worker exit on its own; anything still running is killed
+        private void retire() {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // Already gone
+            }
+            process.onExit().orTimeout(5, TimeUnit.SECONDS).whenComplete((p, e) -> {
+                if (e != null) {
+                    process.destroyForcibly();
+                }
+            });
+        }
+    }
+}
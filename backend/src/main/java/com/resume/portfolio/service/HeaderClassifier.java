@@ -0,0 +1,209 @@
+package com.resume.portfolio.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Decides whether a resume line is a section header and which sections it opens or
+ * keeps open, from the keyword table at {@code app.parser.section-headers} (rules
+ * documented in {@code section-headers.txt}). All keywords of all rules are compiled
+ * into one {@link KeywordAutomaton}, so a line is classified in a single pass over
+ * its characters, and the answer comes back as one of a fixed set of shared
+ * {@link Result} values.
+ */
+@Component
+public class HeaderClassifier {
+
+    public static final String DEFAULT_LOCATION = "classpath:section-headers.txt";
+
+    // Headers are short; anything longer is body text whatever it contains
+    private static final int MAX_HEADER_LENGTH = 60;
+
+    private static final SectionKind[] KINDS = SectionKind.values();
+
+    // Result bits: one per SectionKind it opens, then these
+    private static final int HEADER = 1 << KINDS.length;
+    private static final int SKILLS_SUBCATEGORY = HEADER << 1;
+    private static final int KIND_BITS = HEADER - 1;
+
+    // Keyword roles, besides the SectionKind bits
+    private static final int ROLE_HEADER = HEADER;
+    private static final int ROLE_SUBCATEGORY = SKILLS_SUBCATEGORY;
+    private static final int ROLE_NOT_HEADER = SKILLS_SUBCATEGORY << 1;
+
+    private static final Result[] RESULTS = new Result[SKILLS_SUBCATEGORY << 1];
+
+    static {
+        for (int bits = 0; bits < RESULTS.length; bits++) {
+            RESULTS[bits] = new Result(bits);
+        }
+    }
+
+    /** How a line classifies. Instances are shared; compare with methods, not fields. */
+    public static final class Result {
+        private final int bits;
+
+        private Result(int bits) {
+            this.bits = bits;
+        }
+
+        public boolean isHeader() {
+            return (bits & HEADER) != 0;
+        }
+
+        /** The line names {@code kind}, so as a header it would open that section. */
+        public boolean opens(SectionKind kind) {
+            return (bits & (1 << kind.ordinal())) != 0;
+        }
+
+        public boolean opensAny() {
+            return (bits & KIND_BITS) != 0;
+        }
+
+        /** As a header, the line keeps an already open {@code kind} section open. */
+        public boolean continues(SectionKind kind) {
+            return opens(kind) || (kind == SectionKind.SKILLS && (bits & SKILLS_SUBCATEGORY) != 0);
+        }
+    }
+
+    private final List<String> keywords = new ArrayList<>();
+    private final List<Integer> roles = new ArrayList<>();
+    private final Set<String> exactHeaders = new HashSet<>();
+    private final KeywordAutomaton automaton;
+    private final int[] keywordRoles;
+
+    public HeaderClassifier(@Value("${app.parser.section-headers:" + DEFAULT_LOCATION + "}") String location) {
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            load(reader, location);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read section header table " + location, e);
+        }
+        automaton = new KeywordAutomaton(keywords);
+        keywordRoles = roles.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Classifies a trimmed, lower-cased line. */
+    public Result classify(String lower) {
+        if (lower.length() > MAX_HEADER_LENGTH) {
+            return RESULTS[0];
+        }
+
+        int bits = 0;
+        boolean headerKeyword = false;
+        boolean notHeader = false;
+        int state = KeywordAutomaton.START;
+        for (int i = 0; i < lower.length(); i++) {
+            state = automaton.next(state, lower.charAt(i));
+            for (int keyword : automaton.matches(state)) {
+                int role = keywordRoles[keyword];
+                bits |= role & KIND_BITS;
+                headerKeyword |= (role & ROLE_HEADER) != 0;
+                notHeader |= (role & ROLE_NOT_HEADER) != 0;
+                if ((role & ROLE_SUBCATEGORY) != 0 && i + 1 == automaton.length(keyword)
+                        && isSubcategoryTail(lower, i + 1)) {
+                    bits |= SKILLS_SUBCATEGORY;
+                }
+            }
+        }
+        if (!notHeader && (headerKeyword || exactHeaders.contains(lower))) {
+            bits |= HEADER;
+        }
+        return RESULTS[bits];
+    }
+
+    // What may follow a sub-category name: an optional plural "s", blanks, then the
+    // end of the line or a colon and anything up to it
+    private static boolean isSubcategoryTail(String line, int from) {
+        int i = from;
+        if (i < line.length() && line.charAt(i) == 's') {
+            i++;
+        }
+        while (i < line.length() && isBlank(line.charAt(i))) {
+            i++;
+        }
+        if (i == line.length()) {
+            return true;
+        }
+        if (line.charAt(i) != ':') {
+            return false;
+        }
+        for (i++; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private void load(BufferedReader reader, String location) throws IOException {
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalStateException(location + ":" + lineNumber + ": expected 'rule: keyword, ...'");
+            }
+            String rule = line.substring(0, colon).trim();
+            int role = roleOf(rule);
+            if (role < 0 && !rule.equals("header-exact")) {
+                throw new IllegalStateException(location + ":" + lineNumber + ": unknown rule '" + rule + "'");
+            }
+
+            for (String entry : line.substring(colon + 1).split(",")) {
+                String keyword = entry.trim().toLowerCase(Locale.ROOT);
+                if (keyword.isEmpty()) {
+                    continue;
+                }
+                if (role < 0) {
+                    exactHeaders.add(keyword);
+                } else {
+                    keywords.add(keyword);
+                    roles.add(role);
+                }
+            }
+        }
+    }
+
+    private static int roleOf(String rule) {
+        switch (rule) {
+            case "header":
+                return ROLE_HEADER;
+            case "not-header":
+                return ROLE_NOT_HEADER;
+            case "skills-subcategory":
+                return ROLE_SUBCATEGORY;
+            default:
+                for (SectionKind kind : KINDS) {
+                    if (kind.label().equals(rule)) {
+                        return 1 << kind.ordinal();
+                    }
+                }
+                return -1;
+        }
+    }
+}
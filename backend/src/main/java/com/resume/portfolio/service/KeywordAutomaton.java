@@ -0,0 +1,151 @@
+package com.resume.portfolio.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over a fixed keyword list, matching case-insensitively.
+ * It is compiled into a full transition table over the characters that occur in
+ * the keywords, so a scan costs one table lookup per character of text. Callers
+ * drive the scan themselves:
+ *
+ * <pre>
+ * int state = KeywordAutomaton.START;
+ * for (int i = 0; i &lt; text.length(); i++) {
+ *     state = automaton.next(state, text.charAt(i));
+ *     for (int keyword : automaton.matches(state)) {
+ *         // keyword ends at i, starts at i + 1 - automaton.length(keyword)
+ *     }
+ * }
+ * </pre>
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+final class KeywordAutomaton {
+
+    static final int START = 0;
+
+    private final int[] lengths;
+
+    // Character classes: class 0 stands for every character no keyword uses and
+    // always leads back to the start state. Both cases of an ASCII letter share a
+    // class, so the scan never has to lower-case ASCII text
+    private final int[] asciiClasses = new int[128];
+    private final Map<Character, Integer> otherClasses = new HashMap<>();
+    private final int alphabetSize;
+
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    KeywordAutomaton(List<String> keywords) {
+        lengths = new int[keywords.size()];
+        int classes = 1;
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = Character.toLowerCase(keyword.charAt(i));
+                if (classOf(c) == 0) {
+                    if (c < 128) {
+                        asciiClasses[c] = classes;
+                        asciiClasses[Character.toUpperCase(c)] = classes++;
+                    } else {
+                        otherClasses.put(c, classes++);
+                    }
+                }
+            }
+        }
+        alphabetSize = classes;
+
+        // Trie
+        List<int[]> children = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        children.add(newRow());
+        ends.add(new ArrayList<>());
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            lengths[k] = keyword.length();
+            int state = START;
+            for (int i = 0; i < keyword.length(); i++) {
+                int c = classOf(keyword.charAt(i));
+                if (children.get(state)[c] < 0) {
+                    children.get(state)[c] = children.size();
+                    children.add(newRow());
+                    ends.add(new ArrayList<>());
+                }
+                state = children.get(state)[c];
+            }
+            ends.get(state).add(k);
+        }
+
+        // Failure links, folded into the transition table breadth first
+        int states = children.size();
+        transitions = new int[states * alphabetSize];
+        outputs = new int[states][];
+        int[] failure = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        outputs[START] = new int[0];
+        for (int c = 0; c < alphabetSize; c++) {
+            int child = children.get(START)[c];
+            if (child > 0) {
+                failure[child] = START;
+                transitions[c] = child;
+                queue.add(child);
+            } else {
+                transitions[c] = START;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] inherited = outputs[failure[state]];
+            List<Integer> own = ends.get(state);
+            int[] out = Arrays.copyOf(inherited, inherited.length + own.size());
+            for (int i = 0; i < own.size(); i++) {
+                out[inherited.length + i] = own.get(i);
+            }
+            outputs[state] = out;
+
+            for (int c = 0; c < alphabetSize; c++) {
+                int child = children.get(state)[c];
+                int fallback = transitions[failure[state] * alphabetSize + c];
+                if (child > 0) {
+                    failure[child] = fallback;
+                    transitions[state * alphabetSize + c] = child;
+                    queue.add(child);
+                } else {
+                    transitions[state * alphabetSize + c] = fallback;
+                }
+            }
+        }
+    }
+
+    int next(int state, char c) {
+        return transitions[state * alphabetSize + classOf(c)];
+    }
+
+    /** Keywords ending at the character that led to {@code state}; usually empty. */
+    int[] matches(int state) {
+        return outputs[state];
+    }
+
+    int length(int keyword) {
+        return lengths[keyword];
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        Integer cls = otherClasses.get(Character.toLowerCase(c));
+        return cls != null ? cls : 0;
+    }
+}
@@ -6,15 +6,25 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Service
 public class LocalFileStorageService implements FileStorageService {
 
+    private static final long TRANSFER_CHUNK_BYTES = 1024 * 1024;
+
     private final Path fileStorageLocation;
 
     public LocalFileStorageService(@Value("${app.file.upload-dir:uploads}") String uploadDir) {
@@ -28,8 +38,15 @@ public class LocalFileStorageService implements FileStorageService {
     }
 
     @Override
-    public String storeFile(MultipartFile file, String userId) throws IOException {
-        String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
+    public StoredFile storeFile(MultipartFile file, String userId) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return storeStream(in, file.getOriginalFilename(), userId);
+        }
+    }
+
+    @Override
+    public StoredFile storeStream(InputStream content, String originalName, String userId) throws IOException {
+        String originalFileName = StringUtils.cleanPath(originalName);
         String fileExtension = "";
         try {
             fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
@@ -45,14 +62,42 @@ public class LocalFileStorageService implements FileStorageService {
             }
 
             Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
 
-            return fileName;
+            // Single pass over the upload: bytes are hashed as the channel pulls them to disk
+            MessageDigest digest = newSha256();
+            ReadableByteChannel source = Channels.newChannel(new DigestInputStream(content, digest));
+            long size = 0;
+            try (FileChannel target = FileChannel.open(targetLocation, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long transferred;
+                while ((transferred = target.transferFrom(source, size, TRANSFER_CHUNK_BYTES)) > 0) {
+                    size += transferred;
+                }
+            }
+
+            return new StoredFile(fileName, HexFormat.of().formatHex(digest.digest()), size);
         } catch (IOException ex) {
             throw new IOException("Could not store file " + fileName + ". Please try again!", ex);
         }
     }
 
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public InputStream openFile(String fileName) throws IOException {
+        Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+        if (!filePath.startsWith(this.fileStorageLocation)) {
+            throw new IOException("Invalid path sequence in file name " + fileName);
+        }
+        return Files.newInputStream(filePath);
+    }
+
     @Override
     public void deleteFile(String fileName) {
         try {
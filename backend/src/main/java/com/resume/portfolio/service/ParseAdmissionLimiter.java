@@ -0,0 +1,95 @@
+package com.resume.portfolio.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many uploaded resumes are being parsed at once, so a burst of uploads
+ * cannot take every core away from cheap requests. By default an upload that finds
+ * every slot taken is rejected straight away with an
+ * {@link AdmissionRejectedException}, since waiting would hold a request thread.
+ * With {@code app.ingestion.admission-wait-ms} set, it instead waits for a slot,
+ * first come first served, for at most that long; no more than
+ * {@code app.ingestion.admission-queue} uploads wait at a time, and anything beyond
+ * that, or still waiting at the timeout, is rejected.
+ */
+@Component
+public class ParseAdmissionLimiter {
+
+    private final int maxInFlight;
+    private final int queueCapacity;
+    private final long waitMillis;
+    private final long retryAfterSeconds;
+    private final Semaphore slots;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+
+    public ParseAdmissionLimiter(MeterRegistry meterRegistry,
+            @Value("${app.ingestion.max-in-flight:0}") int maxInFlight,
+            @Value("${app.ingestion.admission-queue:20}") int queueCapacity,
+            @Value("${app.ingestion.admission-wait-ms:0}") long waitMillis,
+            @Value("${app.ingestion.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.waitMillis = waitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.slots = new Semaphore(this.maxInFlight, true);
+        this.meterRegistry = meterRegistry;
+
+        meterRegistry.gauge("resume.ingestion.admission.in-flight", slots,
+                s -> this.maxInFlight - s.availablePermits());
+        meterRegistry.gauge("resume.ingestion.admission.queued", waiting);
+    }
+
+    /**
+     * Takes a parse slot, waiting for one if that is configured. Every successful
+     * call must be paired with a {@link #release()}.
+     *
+     * @throws AdmissionRejectedException if every slot is taken and waiting is off,
+     *                                    the wait queue is full, or no slot freed up
+     *                                    in time
+     */
+    public void acquire() {
+        // A zero timeout still honours fairness, unlike tryAcquire()
+        if (tryAcquire(0)) {
+            return;
+        }
+        if (waitMillis <= 0) {
+            throw reject("busy");
+        }
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            throw reject("queue-full");
+        }
+        try {
+            if (!tryAcquire(waitMillis)) {
+                throw reject("timeout");
+            }
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    private boolean tryAcquire(long millis) {
+        try {
+            return slots.tryAcquire(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("interrupted");
+        }
+    }
+
+    private AdmissionRejectedException reject(String reason) {
+        meterRegistry.counter("resume.ingestion.admission.rejected", "reason", reason).increment();
+        return new AdmissionRejectedException(retryAfterSeconds);
+    }
+}
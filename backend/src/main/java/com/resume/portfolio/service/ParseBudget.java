@@ -0,0 +1,91 @@
+package com.resume.portfolio.service;
+
+import java.time.Duration;
+
+/**
+ * Wall-clock allowance for parsing one document. The deadline is enforced
+ * cooperatively: Tika checks it as SAX events arrive, extractors check it once per
+ * line, and regexes run over {@link #guard(CharSequence) guarded} text so even a
+ * backtracking match is interrupted once the time is up.
+ */
+public final class ParseBudget {
+
+    // Regex engines read one char at a time; looking at the clock on every read
+    // would dominate the match itself
+    private static final int CHARS_PER_CHECK = 1024;
+
+    private final long deadline;
+    private final boolean unlimited;
+    private int reads;
+    private volatile boolean exhausted;
+
+    private ParseBudget(long deadline, boolean unlimited) {
+        this.deadline = deadline;
+        this.unlimited = unlimited;
+    }
+
+    public static ParseBudget of(Duration allowance) {
+        return new ParseBudget(System.nanoTime() + allowance.toNanos(), false);
+    }
+
+    /** A budget that never runs out, for callers that drive single extractors. */
+    public static ParseBudget unlimited() {
+        return new ParseBudget(0, true);
+    }
+
+    public boolean isExhausted() {
+        if (!exhausted && !unlimited && System.nanoTime() - deadline >= 0) {
+            exhausted = true;
+        }
+        return exhausted;
+    }
+
+    /**
+     * @throws ParseBudgetExceededException if the deadline has passed
+     */
+    public void check() {
+        if (isExhausted()) {
+            throw new ParseBudgetExceededException();
+        }
+    }
+
+    /**
+     * Wraps text handed to a regex so that reading it fails fast once the budget is
+     * spent. Sub-sequences stay guarded; {@code toString()} returns the plain text.
+     */
+    public CharSequence guard(CharSequence text) {
+        return unlimited ? text : new Guarded(text);
+    }
+
+    private final class Guarded implements CharSequence {
+        private final CharSequence text;
+
+        private Guarded(CharSequence text) {
+            this.text = text;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            // Racy increments under concurrent use only shift when the clock is read
+            if (++reads % CHARS_PER_CHECK == 0) {
+                check();
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new Guarded(text.subSequence(start, end));
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
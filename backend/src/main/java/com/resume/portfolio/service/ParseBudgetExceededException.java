@@ -0,0 +1,12 @@
+package com.resume.portfolio.service;
+
+/**
+ * Thrown from inside a parse stage when its {@link ParseBudget} has run out. It is
+ * expected control flow for pathological input, so no stack trace is captured.
+ */
+public class ParseBudgetExceededException extends RuntimeException {
+
+    public ParseBudgetExceededException() {
+        super("Parse time budget exceeded", null, false, false);
+    }
+}
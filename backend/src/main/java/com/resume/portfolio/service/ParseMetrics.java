@@ -0,0 +1,111 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Resume;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where the time of one parse went, recorded into Micrometer once the parse is over
+ * (the size of a document is only known by then). Every meter is tagged with the
+ * document's {@code format} and a {@code size} bucket of its extracted lines:
+ *
+ * <ul>
+ * <li>{@code resume.parser.parse}: the whole parse</li>
+ * <li>{@code resume.parser.stage}, tag {@code stage}: {@code extraction} (Tika, or
+ * reading kept text), {@code normalization} (per-line work: section indexing, contact
+ * and skill matching), one per extractor, or {@code worker} for a parse done by a
+ * forked worker, whose stages stay in the worker</li>
+ * <li>{@code resume.parser.document.lines}: extracted lines per document</li>
+ * <li>{@code resume.parser.section.items}, tag {@code section}: items an extractor
+ * produced</li>
+ * <li>{@code resume.parser.sections.empty}, tag {@code section}: extractors that came
+ * back empty</li>
+ * </ul>
+ *
+ * Not thread-safe; one instance per parse, fed from the parsing thread.
+ */
+final class ParseMetrics {
+
+    /** Format tag of a parse over kept text, where the original format is unknown. */
+    static final String KEPT_TEXT = "kept";
+
+    private final long start = System.nanoTime();
+    private final Map<String, Long> stages = new LinkedHashMap<>();
+    private String format = "unknown";
+
+    void format(String format) {
+        this.format = format;
+    }
+
+    void stage(String stage, long nanos) {
+        stages.merge(stage, nanos, Long::sum);
+    }
+
+    void record(MeterRegistry registry, int lines, Resume.ParsedResumeData data) {
+        String size = sizeBucket(lines);
+        Timer.builder("resume.parser.parse")
+                .description("Time to parse one resume")
+                .tags("format", format, "size", size)
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        stages.forEach((stage, nanos) -> Timer.builder("resume.parser.stage")
+                .description("Time spent in each stage of a resume parse")
+                .tags("stage", stage, "format", format, "size", size)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS));
+        if (lines >= 0) {
+            DistributionSummary.builder("resume.parser.document.lines")
+                    .description("Extracted lines per resume")
+                    .tags("format", format)
+                    .register(registry)
+                    .record(lines);
+        }
+
+        section(registry, size, "summary", data.getSummary() == null || data.getSummary().isEmpty() ? 0 : 1);
+        section(registry, size, "skills", data.getSkills());
+        section(registry, size, "experience", data.getExperience());
+        section(registry, size, "education", data.getEducation());
+        section(registry, size, "projects", data.getProjects());
+        section(registry, size, "certifications", data.getCertifications());
+        section(registry, size, "languages", data.getLanguages());
+        section(registry, size, "awards", data.getAwards());
+    }
+
+    private void section(MeterRegistry registry, String size, String section, List<?> items) {
+        section(registry, size, section, items != null ? items.size() : 0);
+    }
+
+    private void section(MeterRegistry registry, String size, String section, int items) {
+        DistributionSummary.builder("resume.parser.section.items")
+                .description("Items extracted per resume section")
+                .tags("section", section, "format", format, "size", size)
+                .register(registry)
+                .record(items);
+        if (items == 0) {
+            Counter.builder("resume.parser.sections.empty")
+                    .description("Resume sections that yielded nothing")
+                    .tags("section", section, "format", format, "size", size)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    // Buckets follow the benchmark corpus (54, 108 and 495 lines); -1 means the text
+    // was not kept, as when extraction ran out of budget
+    private static String sizeBucket(int lines) {
+        if (lines < 0) {
+            return "unknown";
+        }
+        if (lines < 100) {
+            return "small";
+        }
+        return lines < 300 ? "medium" : "large";
+    }
+}
@@ -0,0 +1,18 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Resume;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Result of a full parse: the normalized text the heuristics ran on, already in its
+ * stored form (see {@link ExtractedText}), and what they extracted from it.
+ * {@code extractedText} is null when extraction itself ran out of budget, since a
+ * truncated text is not worth keeping for reprocessing.
+ */
+@Data
+@AllArgsConstructor
+public class ParsedDocument {
+    private byte[] extractedText;
+    private Resume.ParsedResumeData parsedData;
+}
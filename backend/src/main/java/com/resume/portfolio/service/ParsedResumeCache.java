@@ -0,0 +1,87 @@
+package com.resume.portfolio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.resume.portfolio.model.Resume;
+import com.resume.portfolio.model.ResumeFingerprint;
+import com.resume.portfolio.repository.ResumeFingerprintRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Content-addressed lookup of earlier parse results so a re-uploaded file skips
+ * Tika and the heuristics entirely. Entries live in Mongo with a bounded LRU in
+ * front; anything produced by a different {@link ResumeParserService#PARSER_VERSION}
+ * is treated as a miss.
+ *
+ * <p>Only the parse result is shared, never the stored file: every upload keeps
+ * its own copy, and the same bytes may come from different users. Results are
+ * copied in and out, so no two resumes ever hold the same instance.
+ */
+@Service
+public class ParsedResumeCache {
+
+    @Autowired
+    private ResumeFingerprintRepository fingerprintRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Cache<String, ResumeFingerprint> recent;
+
+    public ParsedResumeCache(@Value("${app.dedup.cache-size:1000}") int cacheSize) {
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    public Optional<ResumeFingerprint> lookup(String contentHash) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+        ResumeFingerprint fingerprint = recent.getIfPresent(contentHash);
+        if (fingerprint == null) {
+            fingerprint = fingerprintRepository.findById(contentHash).orElse(null);
+        }
+        if (fingerprint == null || fingerprint.getParserVersion() != ResumeParserService.PARSER_VERSION) {
+            recent.invalidate(contentHash);
+            return Optional.empty();
+        }
+        recent.put(contentHash, fingerprint);
+        return Optional.of(copy(fingerprint));
+    }
+
+    public void record(String contentHash, byte[] extractedText,
+            Resume.ParsedResumeData parsedData) {
+        if (contentHash == null) {
+            return;
+        }
+        if (parsedData.isPartial()) {
+            // A budget overrun can be down to load at the time; let the next upload retry
+            return;
+        }
+        ResumeFingerprint fingerprint = new ResumeFingerprint();
+        fingerprint.setContentHash(contentHash);
+        fingerprint.setParserVersion(ResumeParserService.PARSER_VERSION);
+        fingerprint.setParsedData(objectMapper.convertValue(parsedData, Resume.ParsedResumeData.class));
+        fingerprint.setExtractedText(extractedText != null ? extractedText.clone() : null);
+        fingerprint.setCreatedAt(LocalDateTime.now());
+        recent.put(contentHash, fingerprintRepository.save(fingerprint));
+    }
+
+    // The cached fingerprint stays private to the cache; callers get their own
+    private ResumeFingerprint copy(ResumeFingerprint fingerprint) {
+        ResumeFingerprint copy = new ResumeFingerprint();
+        copy.setContentHash(fingerprint.getContentHash());
+        copy.setParserVersion(fingerprint.getParserVersion());
+        copy.setParsedData(objectMapper.convertValue(fingerprint.getParsedData(), Resume.ParsedResumeData.class));
+        copy.setExtractedText(fingerprint.getExtractedText() != null ? fingerprint.getExtractedText().clone() : null);
+        copy.setCreatedAt(fingerprint.getCreatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,74 @@
+package com.resume.portfolio.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Entry point of a forked parser worker (see {@link ForkedParserPool}). Builds a
+ * standalone {@link ResumeParserService} without Spring and serves parse requests
+ * over stdin/stdout until the parent closes the pipe.
+ *
+ * <p>Arguments: max characters, max embedded resources, time budget in ms, skill
+ * taxonomy location, section header table location.
+ */
+public final class ParserWorkerMain {
+
+    private ParserWorkerMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // stdout carries the protocol; anything else printed (debug output, console
+        // logging) goes to stderr instead
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(System.err);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+
+        ResumeParserService parser = new ResumeParserService(
+                new TikaTextExtractor(Integer.parseInt(args[0]), Integer.parseInt(args[1])),
+                new SkillTaxonomy(args[3]), new HeaderClassifier(args[4]), new SimpleMeterRegistry(),
+                Long.parseLong(args[2]));
+
+        try {
+            serve(parser, in, out);
+        } catch (IOException e) {
+            // Parent went away mid-exchange; nothing left to answer
+        }
+    }
+
+    private static void serve(ResumeParserService parser, DataInputStream in, DataOutputStream out)
+            throws IOException {
+        out.writeByte(ParserWorkerProtocol.READY);
+        out.flush();
+
+        while (true) {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return; // Parent closed the pipe: retire
+            }
+            byte[] document = new byte[length];
+            in.readFully(document);
+
+            try {
+                ParsedDocument parsed = parser.parseDocument(new ByteArrayInputStream(document));
+                out.writeByte(ParserWorkerProtocol.OK);
+                ParserWorkerProtocol.writeDocument(out, parsed);
+            } catch (Exception e) {
+                out.writeByte(ParserWorkerProtocol.FAILED);
+                ParserWorkerProtocol.writeString(out, e.getMessage() != null ? e.getMessage() : e.toString());
+            }
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Resume;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire format between {@link ForkedParserPool} and {@link ParserWorkerMain}, spoken
+ * over the worker's stdin/stdout.
+ * <ul>
+ * <li>Once warm, the worker writes a single {@link #READY} byte.</li>
+ * <li>Request: {@code int length} followed by the raw document bytes.</li>
+ * <li>Response: a status byte, then the stored form of the extracted text (see
+ * {@link ExtractedText}) and the parsed data ({@link #OK}) or an error message
+ * ({@link #FAILED}).</li>
+ * </ul>
+ * Byte arrays are an {@code int} length (-1 for null) followed by the bytes; strings
+ * are written the same way as their UTF-8 encoding;
+ * lists are an {@code int} element count (-1 for null) followed by the elements.
+ * Field order follows {@link Resume.ParsedResumeData} and must change with it.
+ */
+final class ParserWorkerProtocol {
+
+    static final int READY = 0x52;
+    static final int OK = 0;
+    static final int FAILED = 1;
+
+    private ParserWorkerProtocol() {
+    }
+
+    static void writeDocument(DataOutputStream out, ParsedDocument document) throws IOException {
+        writeBytes(out, document.getExtractedText());
+        writeParsedData(out, document.getParsedData());
+    }
+
+    static ParsedDocument readDocument(DataInputStream in) throws IOException {
+        byte[] extractedText = readBytes(in);
+        return new ParsedDocument(extractedText, readParsedData(in));
+    }
+
+    private static void writeParsedData(DataOutputStream out, Resume.ParsedResumeData data) throws IOException {
+        writeString(out, data.getName());
+        writeString(out, data.getEmail());
+        writeString(out, data.getPhone());
+        writeString(out, data.getSummary());
+        writeList(out, data.getSkills(), ParserWorkerProtocol::writeString);
+        writeList(out, data.getSkillIds(), ParserWorkerProtocol::writeString);
+        writeList(out, data.getExperience(), (o, e) -> {
+            writeString(o, e.getTitle());
+            writeString(o, e.getCompany());
+            writeString(o, e.getStartDate());
+            writeString(o, e.getEndDate());
+            writeString(o, e.getDescription());
+        });
+        writeList(out, data.getEducation(), (o, e) -> {
+            writeString(o, e.getDegree());
+            writeString(o, e.getSchool());
+            writeString(o, e.getStartDate());
+            writeString(o, e.getEndDate());
+        });
+        writeList(out, data.getProjects(), (o, p) -> {
+            writeString(o, p.getName());
+            writeString(o, p.getDescription());
+            writeString(o, p.getUrl());
+            writeString(o, p.getImageUrl());
+        });
+        writeList(out, data.getCertifications(), ParserWorkerProtocol::writeString);
+        writeList(out, data.getLanguages(), ParserWorkerProtocol::writeString);
+        writeList(out, data.getAwards(), ParserWorkerProtocol::writeString);
+        out.writeBoolean(data.isPartial());
+    }
+
+    private static Resume.ParsedResumeData readParsedData(DataInputStream in) throws IOException {
+        Resume.ParsedResumeData data = new Resume.ParsedResumeData();
+        data.setName(readString(in));
+        data.setEmail(readString(in));
+        data.setPhone(readString(in));
+        data.setSummary(readString(in));
+        data.setSkills(readList(in, ParserWorkerProtocol::readString));
+        data.setSkillIds(readList(in, ParserWorkerProtocol::readString));
+        data.setExperience(readList(in, i -> {
+            Resume.Experience e = new Resume.Experience();
+            e.setTitle(readString(i));
+            e.setCompany(readString(i));
+            e.setStartDate(readString(i));
+            e.setEndDate(readString(i));
+            e.setDescription(readString(i));
+            return e;
+        }));
+        data.setEducation(readList(in, i -> {
+            Resume.Education e = new Resume.Education();
+            e.setDegree(readString(i));
+            e.setSchool(readString(i));
+            e.setStartDate(readString(i));
+            e.setEndDate(readString(i));
+            return e;
+        }));
+        data.setProjects(readList(in, i -> {
+            Resume.Project p = new Resume.Project();
+            p.setName(readString(i));
+            p.setDescription(readString(i));
+            p.setUrl(readString(i));
+            p.setImageUrl(readString(i));
+            return p;
+        }));
+        data.setCertifications(readList(in, ParserWorkerProtocol::readString));
+        data.setLanguages(readList(in, ParserWorkerProtocol::readString));
+        data.setAwards(readList(in, ParserWorkerProtocol::readString));
+        data.setPartial(in.readBoolean());
+        return data;
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static <T> void writeList(DataOutputStream out, List<T> values, ElementWriter<T> writer)
+            throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (T value : values) {
+            writer.write(out, value);
+        }
+    }
+
+    private static <T> List<T> readList(DataInputStream in, ElementReader<T> reader) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(reader.read(in));
+        }
+        return values;
+    }
+
+    @FunctionalInterface
+    private interface ElementWriter<T> {
+        void write(DataOutputStream out, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ElementReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+}
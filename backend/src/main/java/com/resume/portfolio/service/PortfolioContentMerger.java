@@ -0,0 +1,202 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Portfolio;
+import com.resume.portfolio.model.PortfolioMergeReport;
+import com.resume.portfolio.model.Resume;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Three-way merge of portfolio content: {@code base} is what the previous resume
+ * generated, {@code ours} is the portfolio as stored (possibly edited by its owner)
+ * and {@code theirs} is what the new resume generates. Only what the resume changed
+ * since {@code base} is applied, and never over an edit: an item the owner changed
+ * or deleted stays as the owner left it.
+ *
+ * <p>List items are matched by a key (title and company for experience, degree and
+ * school for education, name for projects, the text itself for the string lists).
+ * The result is a Mongo update touching only changed fields: {@code $set} of single
+ * items replaced in place, {@code $push $each} of new ones, and a {@code $set} of
+ * the whole list only where items were removed or a list gets both kinds of change
+ * (Mongo rejects updates to a list and its items at once).
+ */
+final class PortfolioContentMerger {
+
+    private final Update update = new Update();
+    private final List<PortfolioMergeReport.SectionChange> changes = new ArrayList<>();
+
+    private PortfolioContentMerger() {
+    }
+
+    static PortfolioContentMerger merge(Portfolio.PortfolioContent base, Portfolio.PortfolioContent ours,
+            Portfolio.PortfolioContent theirs) {
+        PortfolioContentMerger merger = new PortfolioContentMerger();
+        merger.value("about", "content.about", base.getAbout(), ours.getAbout(), theirs.getAbout());
+        merger.value("email", "content.contact.email", email(base), email(ours), email(theirs));
+        merger.list("experience", base.getExperience(), ours.getExperience(), theirs.getExperience(),
+                e -> key(e.getTitle(), e.getCompany()), PortfolioContentMerger::label);
+        merger.list("education", base.getEducation(), ours.getEducation(), theirs.getEducation(),
+                e -> key(e.getDegree(), e.getSchool()), PortfolioContentMerger::label);
+        merger.list("projects", base.getProjects(), ours.getProjects(), theirs.getProjects(),
+                p -> key(p.getName()), Resume.Project::getName);
+        merger.list("skills", base.getSkills(), ours.getSkills(), theirs.getSkills(),
+                PortfolioContentMerger::key, Function.identity());
+        merger.list("certifications", base.getCertifications(), ours.getCertifications(), theirs.getCertifications(),
+                PortfolioContentMerger::key, Function.identity());
+        merger.list("languages", base.getLanguages(), ours.getLanguages(), theirs.getLanguages(),
+                PortfolioContentMerger::key, Function.identity());
+        merger.list("awards", base.getAwards(), ours.getAwards(), theirs.getAwards(),
+                PortfolioContentMerger::key, Function.identity());
+        return merger;
+    }
+
+    /** Whether the merge writes anything; false when the resume brought nothing new. */
+    boolean hasUpdates() {
+        return !update.getUpdateObject().isEmpty();
+    }
+
+    Update update() {
+        return update;
+    }
+
+    /** Changed sections, including ones where only edits were kept. */
+    List<PortfolioMergeReport.SectionChange> changes() {
+        return changes;
+    }
+
+    private void value(String section, String path, String base, String ours, String theirs) {
+        if (Objects.equals(normalize(base), normalize(theirs))) {
+            return;
+        }
+        PortfolioMergeReport.SectionChange change = change(section);
+        if (normalize(ours) == null || Objects.equals(normalize(ours), normalize(base))) {
+            update.set(path, theirs);
+            change.getUpdated().add(section);
+        } else {
+            change.getKeptEdits().add(section);
+        }
+    }
+
+    private <T> void list(String section, List<T> baseItems, List<T> ourItems, List<T> theirItems,
+            Function<T, String> key, Function<T, String> label) {
+        Map<String, T> base = byKey(baseItems, key);
+        Map<String, T> theirs = byKey(theirItems, key);
+        if (base.equals(theirs)) {
+            return;
+        }
+
+        PortfolioMergeReport.SectionChange change = new PortfolioMergeReport.SectionChange();
+        change.setSection(section);
+        List<T> merged = new ArrayList<>();
+        Map<Integer, T> replaced = new TreeMap<>();
+        Set<String> present = new HashSet<>();
+        boolean removed = false;
+
+        for (T item : ourItems != null ? ourItems : Collections.<T>emptyList()) {
+            String k = key.apply(item);
+            present.add(k);
+            T was = base.get(k);
+            T now = theirs.get(k);
+            if (was == null || !was.equals(item)) {
+                // The owner's own item, or one they edited: keep it whatever the resume says
+                if (was != null && !was.equals(now)) {
+                    change.getKeptEdits().add(label.apply(item));
+                }
+                merged.add(item);
+            } else if (now == null) {
+                change.getRemoved().add(label.apply(item));
+                removed = true;
+            } else if (!now.equals(was)) {
+                replaced.put(merged.size(), now);
+                change.getUpdated().add(label.apply(now));
+                merged.add(now);
+            } else {
+                merged.add(item);
+            }
+        }
+
+        List<T> added = new ArrayList<>();
+        theirs.forEach((k, item) -> {
+            // Keys already in base were deleted from the portfolio on purpose
+            if (!base.containsKey(k) && present.add(k)) {
+                added.add(item);
+                change.getAdded().add(label.apply(item));
+                merged.add(item);
+            }
+        });
+
+        String path = "content." + section;
+        if (ourItems == null || removed || (!replaced.isEmpty() && !added.isEmpty())) {
+            if (removed || !replaced.isEmpty() || !added.isEmpty()) {
+                update.set(path, merged);
+            }
+        } else {
+            replaced.forEach((index, item) -> update.set(path + "." + index, item));
+            if (!added.isEmpty()) {
+                update.push(path).each(added.toArray());
+            }
+        }
+        if (!change.getAdded().isEmpty() || !change.getUpdated().isEmpty() || !change.getRemoved().isEmpty()
+                || !change.getKeptEdits().isEmpty()) {
+            changes.add(change);
+        }
+    }
+
+    private PortfolioMergeReport.SectionChange change(String section) {
+        PortfolioMergeReport.SectionChange change = new PortfolioMergeReport.SectionChange();
+        change.setSection(section);
+        changes.add(change);
+        return change;
+    }
+
+    // First item per key wins, as the generated content lists them
+    private static <T> Map<String, T> byKey(List<T> items, Function<T, String> key) {
+        Map<String, T> byKey = new LinkedHashMap<>();
+        if (items != null) {
+            items.forEach(item -> byKey.putIfAbsent(key.apply(item), item));
+        }
+        return byKey;
+    }
+
+    private static String key(String... parts) {
+        StringBuilder key = new StringBuilder();
+        for (String part : parts) {
+            key.append(part != null ? part.trim().toLowerCase(Locale.ROOT) : "").append('\u0000');
+        }
+        return key.toString();
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String email(Portfolio.PortfolioContent content) {
+        return content.getContact() != null ? content.getContact().getEmail() : null;
+    }
+
+    private static String label(Resume.Experience experience) {
+        return join(experience.getTitle(), " at ", experience.getCompany());
+    }
+
+    private static String label(Resume.Education education) {
+        return join(education.getDegree(), ", ", education.getSchool());
+    }
+
+    private static String join(String first, String separator, String second) {
+        if (normalize(first) == null) {
+            return second;
+        }
+        return normalize(second) == null ? first : first + separator + second;
+    }
+}
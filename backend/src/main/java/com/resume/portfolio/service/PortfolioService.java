@@ -1,20 +1,36 @@
 package com.resume.portfolio.service;
 
 import com.resume.portfolio.model.Portfolio;
+import com.resume.portfolio.model.PortfolioMergeReport;
 import com.resume.portfolio.model.Resume;
-import com.resume.portfolio.model.User;
 import com.resume.portfolio.repository.PortfolioRepository;
 import com.resume.portfolio.repository.ResumeRepository;
-import com.resume.portfolio.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Optional;
 
 @Service
 public class PortfolioService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioService.class);
+
+    // Merges retried when another write lands between reading and writing the portfolio
+    private static final int MAX_MERGE_ATTEMPTS = 3;
+
     @Autowired
     private PortfolioRepository portfolioRepository;
 
@@ -22,9 +38,47 @@ public class PortfolioService {
     private ResumeRepository resumeRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PublicPortfolioCache publicPortfolioCache;
 
-    public Portfolio generatePortfolioFromResume(String userId, String resumeId) {
+    @Autowired
+    private PortfolioSnapshotService portfolioSnapshotService;
+
+    @Autowired
+    private PortfolioUsernameFilter portfolioUsernameFilter;
+
+    /**
+     * Makes {@code userId} unique, which {@link #createOrFetch}'s upsert relies on to
+     * create at most one portfolio per user. Index creation is not automatic, so
+     * this runs at startup; a failure, e.g. duplicates already stored, is logged.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(Portfolio.class).ensureIndex(new Index().on("userId", Sort.Direction.ASC).unique());
+        } catch (RuntimeException e) {
+            logger.warn("Could not create the unique userId index on portfolios: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Brings the user's portfolio up to date with a resume. The first portfolio is
+     * built from it outright; after that, only what changed between the resume the
+     * portfolio was last generated from and this one is applied, as targeted
+     * updates, so edits made in the portfolio editor (and its theme and visibility)
+     * survive regeneration. The report lists what was added, updated, removed, and
+     * which edits were kept over resume changes.
+     *
+     * <p>The portfolio is created, or read for merging, by a single upsert, and the
+     * merge is only written if nothing else wrote the portfolio in between, as told
+     * by its version, which every write increments; if something did, the merge is
+     * redone against the new content. Concurrent
+     * uploads from one user therefore apply one after the other, never over each
+     * other.
+     */
+    public PortfolioMergeReport generatePortfolioFromResume(String userId, String username, String resumeId) {
         Resume resume = resumeRepository.findById(resumeId)
                 .orElseThrow(() -> new RuntimeException("Resume not found"));
 
@@ -32,43 +86,111 @@ public class PortfolioService {
             throw new RuntimeException("Unauthorized access to resume");
         }
 
-        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-        System.out.println("Generating portfolio for user: " + user.getUsername() + " (ID: " + userId + ")");
+        Portfolio.PortfolioContent generated = buildContent(resume.getParsedData());
+        for (int attempt = 1; attempt <= MAX_MERGE_ATTEMPTS; attempt++) {
+            PortfolioMergeReport report = new PortfolioMergeReport();
+            report.setResumeId(resumeId);
 
-        Portfolio portfolio = portfolioRepository.findByUserId(userId).orElse(new Portfolio());
-        portfolio.setUserId(userId);
-        portfolio.setUsername(user.getUsername());
-        System.out.println("Setting portfolio username to: " + user.getUsername());
+            Portfolio existing = createOrFetch(userId, username, resumeId, generated);
+            if (existing == null) {
+                report.setMode(PortfolioMergeReport.Mode.CREATED);
+                logger.info("Portfolio for {} created from resume {}", username, resumeId);
+                return report;
+            }
+            report.setPreviousResumeId(existing.getResumeId());
+            if (resumeId.equals(existing.getResumeId())) {
+                report.setMode(PortfolioMergeReport.Mode.UNCHANGED);
+                return report;
+            }
 
-        portfolio.setTheme("modern"); // Default theme
-        portfolio.setPublic(false);
+            Resume previous = existing.getResumeId() != null
+                    ? resumeRepository.findById(existing.getResumeId()).orElse(null)
+                    : null;
+            Update update;
+            if (previous != null && previous.getParsedData() != null && existing.getContent() != null) {
+                PortfolioContentMerger merge = PortfolioContentMerger.merge(
+                        buildContent(previous.getParsedData()), existing.getContent(), generated);
+                report.setSections(merge.changes());
+                report.setMode(merge.hasUpdates()
+                        ? PortfolioMergeReport.Mode.MERGED
+                        : PortfolioMergeReport.Mode.UNCHANGED);
+                update = merge.update();
+            } else {
+                // Nothing known to diff against, e.g. the base resume was deleted
+                update = new Update().set("content", generated);
+                report.setMode(PortfolioMergeReport.Mode.REBUILT);
+            }
+            // This resume is now the base the next one is diffed against
+            update.set("resumeId", resumeId).set("updatedAt", LocalDateTime.now()).inc("version", 1);
 
-        if (portfolio.getCreatedAt() == null) {
-            portfolio.setCreatedAt(LocalDateTime.now());
+            // A version rather than updatedAt: two writes can land within one clock tick
+            Query unchanged = Query.query(Criteria.where("id").is(existing.getId()).andOperator(
+                    existing.getVersion() != null
+                            ? Criteria.where("version").is(existing.getVersion())
+                            : Criteria.where("version").exists(false)));
+            if (mongoTemplate.updateFirst(unchanged, update, Portfolio.class).getMatchedCount() > 0) {
+                publicPortfolioCache.evict(existing.getUsername());
+                if (report.getMode() != PortfolioMergeReport.Mode.UNCHANGED) {
+                    portfolioSnapshotService.refresh(existing.getUsername());
+                }
+                logger.info("Portfolio for {} {} from resume {}", username, report.getMode(), resumeId);
+                return report;
+            }
+            logger.debug("Portfolio for {} changed during merge, retrying (attempt {})", username, attempt);
         }
-        portfolio.setUpdatedAt(LocalDateTime.now());
+        throw new RuntimeException("Portfolio is being updated by another request, please try again");
+    }
 
+    /**
+     * Creates the user's portfolio from {@code content} if they have none, in one
+     * round trip that also returns the existing portfolio otherwise. Of two
+     * concurrent first uploads, the unique {@code userId} index lets one insert; the
+     * other's upsert fails on the key and reads the portfolio that was inserted.
+     *
+     * @return the portfolio as it was before, or {@code null} if it was just created
+     */
+    private Portfolio createOrFetch(String userId, String username, String resumeId,
+            Portfolio.PortfolioContent content) {
+        LocalDateTime now = LocalDateTime.now();
+        Update insert = new Update()
+                .setOnInsert("username", username)
+                .setOnInsert("theme", "modern") // Default theme
+                .setOnInsert("isPublic", false)
+                .setOnInsert("content", content)
+                .setOnInsert("resumeId", resumeId)
+                .setOnInsert("createdAt", now)
+                .setOnInsert("updatedAt", now)
+                .setOnInsert("version", 0L);
+        // Known to the filter before the portfolio can exist, so it is never reported missing
+        portfolioUsernameFilter.add(username);
+        Query byUser = Query.query(Criteria.where("userId").is(userId));
+        try {
+            return mongoTemplate.findAndModify(byUser, insert,
+                    FindAndModifyOptions.options().upsert(true).returnNew(false), Portfolio.class);
+        } catch (DuplicateKeyException e) {
+            logger.debug("Portfolio for {} was created concurrently, reading it", username);
+            return mongoTemplate.findOne(byUser, Portfolio.class);
+        }
+    }
+
+    // Package-private so the mapping benchmark can run it without repositories
+    static Portfolio.PortfolioContent buildContent(Resume.ParsedResumeData parsedData) {
         Portfolio.PortfolioContent content = new Portfolio.PortfolioContent();
         content.setTheme("modern"); // Set theme in content as well
-        content.setAbout(resume.getParsedData().getSummary());
-        content.setExperience(resume.getParsedData().getExperience());
-        content.setEducation(resume.getParsedData().getEducation());
-        content.setProjects(resume.getParsedData().getProjects());
-        content.setSkills(resume.getParsedData().getSkills());
-        content.setCertifications(resume.getParsedData().getCertifications());
-        content.setLanguages(resume.getParsedData().getLanguages());
-        content.setAwards(resume.getParsedData().getAwards());
+        content.setAbout(parsedData.getSummary());
+        content.setExperience(parsedData.getExperience());
+        content.setEducation(parsedData.getEducation());
+        content.setProjects(parsedData.getProjects());
+        content.setSkills(parsedData.getSkills());
+        content.setCertifications(parsedData.getCertifications());
+        content.setLanguages(parsedData.getLanguages());
+        content.setAwards(parsedData.getAwards());
 
         Portfolio.ContactInfo contact = new Portfolio.ContactInfo();
-        contact.setEmail(resume.getParsedData().getEmail());
+        contact.setEmail(parsedData.getEmail());
         // TODO: Extract social links if available in resume or user profile
         content.setContact(contact);
-
-        portfolio.setContent(content);
-
-        Portfolio saved = portfolioRepository.save(portfolio);
-        System.out.println("Saved portfolio. ID: " + saved.getId() + ", Username: " + saved.getUsername());
-        return saved;
+        return content;
     }
 
     public Portfolio getPortfolioByUserId(String userId) {
@@ -79,28 +201,65 @@ public class PortfolioService {
         return p;
     }
 
+    /**
+     * Applies the owner's edits in one atomic update that also increments the
+     * version, so a regeneration merging at the same time notices and merges again
+     * on top of them. Fields the editor doesn't own, such as the merge base, are left
+     * as stored.
+     */
     public Portfolio updatePortfolio(String userId, Portfolio portfolioDetails) {
-        Portfolio portfolio = getPortfolioByUserId(userId);
-        portfolio.setContent(portfolioDetails.getContent());
-        portfolio.setTheme(portfolioDetails.getTheme());
-        portfolio.setPublic(portfolioDetails.isPublic());
-        portfolio.setUpdatedAt(LocalDateTime.now());
-        System.out.println("Updating portfolio. New public status: " + portfolio.isPublic());
-        return portfolioRepository.save(portfolio);
+        Update edits = new Update()
+                .set("content", portfolioDetails.getContent())
+                .set("theme", portfolioDetails.getTheme())
+                .set("isPublic", portfolioDetails.isPublic())
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+        logger.debug("Updating portfolio for user {}. New public status: {}", userId, portfolioDetails.isPublic());
+        Portfolio saved = mongoTemplate.findAndModify(Query.query(Criteria.where("userId").is(userId)), edits,
+                FindAndModifyOptions.options().returnNew(true), Portfolio.class);
+        if (saved == null) {
+            throw new RuntimeException("Portfolio not found");
+        }
+        publicPortfolioCache.evict(saved.getUsername());
+        portfolioSnapshotService.publish(saved);
+        return saved;
+    }
+
+    /**
+     * The version of {@code username}'s public portfolio, for answering conditional
+     * requests: taken from the cache, or else read on its own without the rest of
+     * the document. Empty if there is no such public portfolio.
+     */
+    public Optional<Long> getPublicPortfolioVersion(String username) {
+        if (!portfolioUsernameFilter.mightContain(username)) {
+            return Optional.empty();
+        }
+        Optional<PublishedPortfolio> cached = publicPortfolioCache.peek(username);
+        if (cached.isPresent()) {
+            return cached.filter(PublishedPortfolio::isPublic).map(PublishedPortfolio::getVersion);
+        }
+        Query query = Query.query(Criteria.where("username").is(username).and("isPublic").is(true));
+        query.fields().include("version");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Portfolio.class)).map(PublishedPortfolio::versionOf);
     }
 
-    public Portfolio getPublicPortfolio(String username) {
-        System.out.println("Fetching public portfolio for: " + username);
-        Portfolio portfolio = portfolioRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    System.out.println("Portfolio not found for username: " + username);
-                    return new RuntimeException("Portfolio not found");
-                });
-
-        System.out.println("Found portfolio for " + username + ". isPublic: " + portfolio.isPublic());
-        if (!portfolio.isPublic()) {
-            System.out.println("Portfolio IS PRIVATE for " + username);
-            throw new RuntimeException("Portfolio is private");
+    /**
+     * {@code username}'s public portfolio; empty if there is none or it is private.
+     * Names that were never taken are turned away by the username filter without a
+     * database read.
+     */
+    public Optional<PublishedPortfolio> getPublicPortfolio(String username) {
+        if (!portfolioUsernameFilter.mightContain(username)) {
+            logger.debug("Portfolio not found for username: {}", username);
+            return Optional.empty();
+        }
+        // Hot path for shared profiles: served from the cache and logged at debug only
+        Optional<PublishedPortfolio> portfolio = publicPortfolioCache.get(username);
+        if (portfolio.isEmpty()) {
+            logger.debug("Portfolio not found for username: {}", username);
+        } else if (!portfolio.get().isPublic()) {
+            logger.debug("Portfolio is private for {}", username);
+            return Optional.empty();
         }
         return portfolio;
     }
@@ -0,0 +1,281 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Portfolio;
+import com.resume.portfolio.model.Resume;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Renders a portfolio to the static page its theme's layout would draw in the
+ * browser, from the Mustache templates and palettes under {@code snapshots/} on
+ * the classpath. Templates are compiled once; a render only walks the content.
+ */
+class PortfolioSnapshotRenderer {
+
+    private static final String TEMPLATE_ROOT = "snapshots/";
+    private static final String DEFAULT_THEME = "modern";
+
+    // Names of the CSS variables the 12 palette colors in themes.properties become
+    private static final String[] COLOR_VARIABLES = {
+            "bg", "text", "subtext", "accent", "card", "card-border", "tag-bg",
+            "tag-text", "button-bg", "button-text", "header-from", "header-to"
+    };
+
+    private static final Map<String, String> FONTS = Map.of(
+            "sans", "ui-sans-serif,system-ui,-apple-system,'Segoe UI',Roboto,sans-serif",
+            "serif", "ui-serif,Georgia,Cambria,'Times New Roman',serif",
+            "display", "'Poppins','Segoe UI',ui-sans-serif,system-ui,sans-serif",
+            "mono", "ui-monospace,SFMono-Regular,Menlo,Consolas,monospace");
+
+    private static final int DESCRIPTION_LENGTH = 160;
+    private static final int EXPERIENCE_PREVIEW = 3;
+    private static final int SKILLS_PREVIEW = 6;
+
+    private final Properties themes = new Properties();
+    private final Map<String, Template> layouts = new HashMap<>();
+
+    PortfolioSnapshotRenderer() {
+        try (Reader in = open("themes.properties")) {
+            themes.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Mustache.Compiler compiler = Mustache.compiler()
+                .withLoader(PortfolioSnapshotRenderer::open)
+                .defaultValue("")
+                .emptyStringIsFalse(true)
+                .zeroIsFalse(true);
+        for (String layout : List.of("standard", "split", "bento")) {
+            try (Reader in = open(layout)) {
+                layouts.put(layout, compiler.compile(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static Reader open(String name) throws IOException {
+        String resource = TEMPLATE_ROOT + (name.contains(".") ? name : name + ".mustache");
+        InputStream in = PortfolioSnapshotRenderer.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException("Missing snapshot template " + resource);
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    /** The page for {@code portfolio} in the theme its content names. */
+    String render(Portfolio portfolio) {
+        Portfolio.PortfolioContent content = portfolio.getContent() != null
+                ? portfolio.getContent()
+                : new Portfolio.PortfolioContent();
+        String theme = content.getTheme() != null && themes.containsKey(content.getTheme() + ".layout")
+                ? content.getTheme()
+                : DEFAULT_THEME;
+        Template layout = layouts.getOrDefault(themes.getProperty(theme + ".layout"), layouts.get("standard"));
+        Map<String, Object> view = view(portfolio.getUsername(), theme, content);
+        // Read back by PortfolioSnapshotService to tell a stale page from a current one
+        view.put("version", PublishedPortfolio.versionOf(portfolio));
+        return layout.execute(view);
+    }
+
+    private Map<String, Object> view(String username, String theme, Portfolio.PortfolioContent content) {
+        Map<String, Object> view = new HashMap<>();
+        String about = trim(content.getAbout());
+        view.put("username", username);
+        view.put("initial", initial(username));
+        view.put("about", about);
+        view.put("tagline", tagline(about));
+        view.put("description", description(username, about));
+        view.put("profileImage", imageUrl(content.getProfileImage()));
+        view.put("year", Year.now().getValue());
+
+        Portfolio.ContactInfo contact = content.getContact();
+        if (contact != null) {
+            view.put("email", trim(contact.getEmail()));
+            view.put("linkedin", linkUrl(contact.getLinkedin()));
+        }
+
+        List<String> skills = nonBlank(content.getSkills());
+        view.put("skillsPreview", skills.subList(0, Math.min(SKILLS_PREVIEW, skills.size())));
+        view.put("moreSkills", Math.max(0, skills.size() - SKILLS_PREVIEW));
+        putList(view, "skills", skills);
+        putList(view, "languages", nonBlank(content.getLanguages()));
+        putList(view, "certifications", nonBlank(content.getCertifications()));
+        putList(view, "awards", nonBlank(content.getAwards()));
+
+        List<Map<String, Object>> experience = experience(content.getExperience());
+        putList(view, "experience", experience);
+        view.put("experiencePreview", experience.subList(0, Math.min(EXPERIENCE_PREVIEW, experience.size())));
+        putList(view, "education", education(content.getEducation()));
+        putList(view, "projects", projects(content.getProjects()));
+
+        view.put("font", FONTS.getOrDefault(themes.getProperty(theme + ".font"), FONTS.get("sans")));
+        view.put("lightColors", colors(themes.getProperty(theme + ".light")));
+        view.put("darkColors", colors(themes.getProperty(theme + ".dark")));
+        return view;
+    }
+
+    // Each list goes in with a has<Name> flag, so sections can be skipped when empty
+    private static void putList(Map<String, Object> view, String name, List<?> items) {
+        view.put(name, items);
+        view.put("has" + Character.toUpperCase(name.charAt(0)) + name.substring(1), !items.isEmpty());
+    }
+
+    private static List<Map<String, Object>> experience(List<Resume.Experience> items) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        if (items == null) {
+            return rows;
+        }
+        for (Resume.Experience item : items) {
+            if (item == null) {
+                continue;
+            }
+            Map<String, Object> row = new HashMap<>();
+            row.put("title", trim(item.getTitle()));
+            row.put("company", trim(item.getCompany()));
+            row.put("endDate", trim(item.getEndDate()));
+            row.put("dates", dates(item.getStartDate(), item.getEndDate()));
+            row.put("description", trim(item.getDescription()));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<Map<String, Object>> education(List<Resume.Education> items) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        if (items == null) {
+            return rows;
+        }
+        for (Resume.Education item : items) {
+            if (item == null) {
+                continue;
+            }
+            Map<String, Object> row = new HashMap<>();
+            row.put("school", trim(item.getSchool()));
+            row.put("degree", trim(item.getDegree()));
+            row.put("initial", initial(item.getSchool()));
+            row.put("dates", dates(item.getStartDate(), item.getEndDate()));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<Map<String, Object>> projects(List<Resume.Project> items) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        if (items == null) {
+            return rows;
+        }
+        for (Resume.Project item : items) {
+            if (item == null) {
+                continue;
+            }
+            Map<String, Object> row = new HashMap<>();
+            row.put("name", trim(item.getName()));
+            row.put("initial", initial(item.getName()));
+            row.put("description", trim(item.getDescription()));
+            row.put("url", linkUrl(item.getUrl()));
+            row.put("imageUrl", imageUrl(item.getImageUrl()));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // "--bg:#fff;--text:#000;..." from a palette line; values are written unescaped,
+    // so anything but a plain color token is dropped
+    private static String colors(String palette) {
+        if (palette == null) {
+            return "";
+        }
+        String[] values = palette.trim().split("\\s+");
+        StringBuilder css = new StringBuilder();
+        for (int i = 0; i < COLOR_VARIABLES.length && i < values.length; i++) {
+            if (values[i].matches("#[0-9a-fA-F]{3,8}|[a-z]+")) {
+                css.append("--").append(COLOR_VARIABLES[i]).append(':').append(values[i]).append(';');
+            }
+        }
+        return css.toString();
+    }
+
+    private static List<String> nonBlank(List<String> items) {
+        if (items == null) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>(items.size());
+        for (String item : items) {
+            String value = trim(item);
+            if (!value.isEmpty()) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private static String dates(String start, String end) {
+        String from = trim(start);
+        String to = trim(end);
+        if (from.isEmpty() || to.isEmpty()) {
+            return from + to;
+        }
+        return from + " - " + to;
+    }
+
+    private static String tagline(String about) {
+        if (about.isEmpty()) {
+            return "Creative Developer";
+        }
+        int end = about.indexOf('.');
+        return end > 0 ? about.substring(0, end + 1) : about;
+    }
+
+    private static String description(String username, String about) {
+        if (about.isEmpty()) {
+            return "Portfolio of " + username;
+        }
+        return about.length() <= DESCRIPTION_LENGTH
+                ? about
+                : about.substring(0, DESCRIPTION_LENGTH - 3).trim() + "...";
+    }
+
+    private static String initial(String value) {
+        String trimmed = trim(value);
+        return trimmed.isEmpty() ? "" : trimmed.substring(0, 1).toUpperCase(Locale.ROOT);
+    }
+
+    // Links from user content only as http(s) or mailto, never javascript: and the like
+    private static String linkUrl(String value) {
+        String url = trim(value);
+        String lower = url.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("http://") || lower.startsWith("https://") || lower.startsWith("mailto:")) {
+            return url;
+        }
+        // Bare hosts as the editor accepts them, e.g. "linkedin.com/in/jordan"
+        return !url.isEmpty() && !url.contains(":") ? "https://" + url : "";
+    }
+
+    private static String imageUrl(String value) {
+        String url = trim(value);
+        String lower = url.toLowerCase(Locale.ROOT);
+        return lower.startsWith("http://") || lower.startsWith("https://") || lower.startsWith("data:image/")
+                ? url
+                : "";
+    }
+
+    private static String trim(String value) {
+        return value == null ? "" : value.trim();
+    }
+}
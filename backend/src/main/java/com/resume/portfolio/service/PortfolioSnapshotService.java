@@ -0,0 +1,127 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Portfolio;
+import com.resume.portfolio.repository.PortfolioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Static HTML snapshots of public portfolios, one file per username, rendered
+ * in the portfolio's theme whenever it is written and removed when it goes
+ * private. The public page can then be served as a file, with no database read,
+ * serialization or client-side rendering before first paint.
+ *
+ * <p>A snapshot that fails to render or write is logged and skipped; the
+ * portfolio write that triggered it still succeeds, and visitors fall back to
+ * the JSON page.
+ *
+ * <p>Each page records the portfolio version it was rendered from in a comment
+ * after its doctype. Other instances sharing the database write only their own
+ * snapshot directory, so a page is only served for the version the caller has
+ * just confirmed, and re-rendered when it is older.
+ */
+@Service
+public class PortfolioSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioSnapshotService.class);
+
+    // The doctype and the version comment head.mustache writes after it
+    private static final int VERSION_HEADER_BYTES = 96;
+    private static final Pattern VERSION_HEADER = Pattern.compile("<!-- portfolio version (\\d+) -->");
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    private final PortfolioSnapshotRenderer renderer = new PortfolioSnapshotRenderer();
+
+    private final Path snapshotLocation;
+
+    public PortfolioSnapshotService(@Value("${app.portfolio.snapshot-dir:snapshots}") String snapshotDir) {
+        this.snapshotLocation = Paths.get(snapshotDir).toAbsolutePath().normalize();
+
+        try {
+            Files.createDirectories(this.snapshotLocation);
+        } catch (Exception ex) {
+            throw new RuntimeException("Could not create the directory where portfolio snapshots will be stored.", ex);
+        }
+    }
+
+    /** Renders {@code portfolio}'s snapshot if it is public, or removes it if not. */
+    public void publish(Portfolio portfolio) {
+        if (portfolio.getUsername() == null) {
+            return;
+        }
+        Path target = pathFor(portfolio.getUsername());
+        try {
+            if (!portfolio.isPublic()) {
+                Files.deleteIfExists(target);
+                return;
+            }
+            byte[] html = renderer.render(portfolio).getBytes(StandardCharsets.UTF_8);
+            // Written aside and moved into place, so readers never see a partial page
+            Path temp = Files.createTempFile(snapshotLocation, ".snapshot", ".tmp");
+            try {
+                Files.write(temp, html);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            logger.debug("Snapshot for {} written ({} bytes)", portfolio.getUsername(), html.length);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not publish snapshot for {}: {}", portfolio.getUsername(), e.getMessage());
+        }
+    }
+
+    /** Re-renders {@code username}'s snapshot from the stored portfolio. */
+    public void refresh(String username) {
+        portfolioRepository.findByUsername(username).ifPresent(this::publish);
+    }
+
+    /**
+     * The snapshot file for {@code username}'s public portfolio at {@code version},
+     * which the caller has checked is current. A missing or older snapshot is
+     * re-rendered from the stored portfolio first; empty if that fails.
+     */
+    public Optional<Path> find(String username, long version) {
+        Path path = pathFor(username);
+        if (renderedVersion(path) < version) {
+            refresh(username);
+            if (renderedVersion(path) < version) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(path);
+    }
+
+    // -1 if there is no snapshot or it has no version header
+    private static long renderedVersion(Path path) {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(path)) {
+            head = in.readNBytes(VERSION_HEADER_BYTES);
+        } catch (IOException e) {
+            return -1;
+        }
+        Matcher matcher = VERSION_HEADER.matcher(new String(head, StandardCharsets.UTF_8));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    // Usernames are encoded, so none can name a file outside the directory
+    private Path pathFor(String username) {
+        return snapshotLocation.resolve(URLEncoder.encode(username, StandardCharsets.UTF_8) + ".html");
+    }
+}
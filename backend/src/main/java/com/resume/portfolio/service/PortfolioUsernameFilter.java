@@ -0,0 +1,185 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Portfolio;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over the usernames that have a portfolio, so lookups of names that
+ * were never taken (scrapers, typos) are answered without a database read.
+ * {@link #mightContain} is never wrong about a username that exists; about one that
+ * doesn't, it is wrong at about {@code app.portfolio.username-filter.false-positive-rate}
+ * while there are no more than {@code expected-usernames} of them.
+ *
+ * <p>The filter is filled from the usernames alone once the application is ready,
+ * and until then answers "maybe" for everything. Portfolios must be
+ * {@link #add added} before they are written. Bits are only ever set, so additions
+ * during a load are never lost; portfolios are never deleted or renamed, so
+ * nothing needs removing. Definite misses are counted as
+ * {@code portfolio.username.filter.rejected}.
+ *
+ * <p>Portfolios created through other instances sharing the database are picked up
+ * by a rebuild every {@code rebuild-interval-minutes}; until then this instance
+ * reports them missing.
+ */
+@Service
+public class PortfolioUsernameFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioUsernameFilter.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final int wordCount;
+    private final long bitCount;
+    private final int hashCount;
+    private final long expectedUsernames;
+    private final Counter rejected;
+
+    // Replaced whole by a rebuild; only written under the lock on this filter
+    private volatile AtomicLongArray bits;
+    private volatile boolean loaded;
+
+    public PortfolioUsernameFilter(MeterRegistry meterRegistry,
+            @Value("${app.portfolio.username-filter.expected-usernames:1000000}") long expectedUsernames,
+            @Value("${app.portfolio.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        // Optimal size and hash count for n entries at rate p: m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long n = Math.max(1, expectedUsernames);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.wordCount = (int) Math.min(Integer.MAX_VALUE, (m + 63) / 64);
+        this.bitCount = (long) wordCount * 64;
+        this.bits = new AtomicLongArray(wordCount);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.expectedUsernames = n;
+        this.rejected = Counter.builder("portfolio.username.filter.rejected")
+                .description("Portfolio lookups answered as missing without a database read")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Builds a new filter from the stored usernames and swaps it in, keeping every
+     * name of the previous one. Until the swap, lookups keep using the previous
+     * build; if the build fails, that stays in use.
+     */
+    @Scheduled(fixedDelayString = "${app.portfolio.username-filter.rebuild-interval-minutes:60}",
+            initialDelayString = "${app.portfolio.username-filter.rebuild-interval-minutes:60}",
+            timeUnit = TimeUnit.MINUTES)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        AtomicLongArray rebuilt = new AtomicLongArray(wordCount);
+        long count = 0;
+        Query query = Query.query(Criteria.where("username").exists(true));
+        query.fields().include("username");
+        try (Stream<Portfolio> portfolios = mongoTemplate.stream(query, Portfolio.class)) {
+            for (Portfolio portfolio : (Iterable<Portfolio>) portfolios::iterator) {
+                set(rebuilt, portfolio.getUsername());
+                count++;
+            }
+        } catch (RuntimeException e) {
+            // The previous build stays in use; before the first, every lookup goes to the database
+            logger.warn("Could not load portfolio usernames into the lookup filter: {}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            // Names added while streaming may have been missed by it; none are ever removed
+            for (int i = 0; i < wordCount; i++) {
+                rebuilt.set(i, rebuilt.get(i) | bits.get(i));
+            }
+            bits = rebuilt;
+        }
+        loaded = true;
+        logger.info("Loaded {} portfolio usernames into the lookup filter ({} KB, {} hashes) in {} ms",
+                count, bitCount / 8 / 1024, hashCount, System.currentTimeMillis() - start);
+        if (count > expectedUsernames) {
+            logger.warn("{} portfolio usernames exceed app.portfolio.username-filter.expected-usernames ({}); "
+                    + "the filter will pass more misses through to the database", count, expectedUsernames);
+        }
+    }
+
+    // Locked against a rebuild's swap, which would otherwise drop a name set in between
+    public synchronized void add(String username) {
+        set(bits, username);
+    }
+
+    /** {@code false} only if no portfolio has {@code username}, as far as this instance has seen. */
+    public boolean mightContain(String username) {
+        if (!loaded) {
+            return true;
+        }
+        if (username == null) {
+            return false;
+        }
+        if (!isSet(bits, username)) {
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void set(AtomicLongArray words, String username) {
+        if (username == null) {
+            return;
+        }
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    private boolean isSet(AtomicLongArray words, String username) {
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a over the chars, finished with the MurmurHash3 mixer; its halves
+    // are the two hashes the k probes are derived from (Kirsch and Mitzenmacher)
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,73 @@
+package com.resume.portfolio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.resume.portfolio.repository.PortfolioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of portfolios by username for the public pages, which see far
+ * more reads than the owner's editor sees writes. Each entry is the portfolio
+ * already rendered for serving ({@link PublishedPortfolio}), so the JSON is built
+ * and compressed once per version rather than once per request. Entries are
+ * bounded by their size in bytes and expire after
+ * {@code app.portfolio.public-cache.ttl-seconds}; every portfolio write must
+ * {@link #evict} its username once it is stored. Hit and miss counts are published
+ * as the {@code cache.*} metrics tagged {@code cache=portfolio.public}.
+ */
+@Service
+public class PublicPortfolioCache {
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Cache<String, PublishedPortfolio> portfolios;
+
+    public PublicPortfolioCache(MeterRegistry meterRegistry,
+            @Value("${app.portfolio.public-cache.max-mb:64}") long maxMegabytes,
+            @Value("${app.portfolio.public-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.portfolios = Caffeine.newBuilder()
+                .maximumWeight(maxMegabytes * 1024 * 1024)
+                .weigher((String username, PublishedPortfolio portfolio) -> portfolio.weight())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, portfolios, "portfolio.public");
+    }
+
+    /**
+     * The portfolio published under {@code username}, public or not; concurrent
+     * misses for one username share a single database read and rendering.
+     */
+    public Optional<PublishedPortfolio> get(String username) {
+        return Optional.ofNullable(portfolios.get(username, key -> portfolioRepository.findByUsername(key)
+                .map(portfolio -> PublishedPortfolio.render(portfolio, objectMapper))
+                .orElse(null)));
+    }
+
+    /** The cached portfolio for {@code username}, without loading it on a miss. */
+    public Optional<PublishedPortfolio> peek(String username) {
+        return Optional.ofNullable(portfolios.getIfPresent(username));
+    }
+
+    /**
+     * Drops {@code username}'s entry. Call after the write is stored: a read still
+     * loading the old version finishes first and is dropped with it.
+     */
+    public void evict(String username) {
+        if (username != null) {
+            portfolios.invalidate(username);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.resume.portfolio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resume.portfolio.model.Portfolio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A portfolio as the public pages serve it: its JSON rendered once, in every
+ * content coding offered, so a request only picks a buffer and copies it out.
+ * Private portfolios keep their version but no body. The JSON is the public view
+ * of the portfolio only: ids tying it to its owner's account and resumes are left
+ * out.
+ */
+public final class PublishedPortfolio {
+
+    public enum Coding {
+        IDENTITY(null),
+        GZIP("gzip"),
+        DEFLATE("deflate"); // zlib-wrapped, as HTTP's "deflate" is defined
+
+        private final String token;
+
+        Coding(String token) {
+            this.token = token;
+        }
+
+        /** The Content-Encoding value, or {@code null} for identity. */
+        public String token() {
+            return token;
+        }
+    }
+
+    private final boolean isPublic;
+    private final long version;
+    private final LocalDateTime updatedAt;
+    private final byte[][] bodies;
+
+    private PublishedPortfolio(boolean isPublic, long version, LocalDateTime updatedAt, byte[][] bodies) {
+        this.isPublic = isPublic;
+        this.version = version;
+        this.updatedAt = updatedAt;
+        this.bodies = bodies;
+    }
+
+    /**
+     * {@code portfolio}'s version; documents written before it was introduced have
+     * none and count as version 0, which their first write increments to 1.
+     */
+    public static long versionOf(Portfolio portfolio) {
+        return portfolio.getVersion() != null ? portfolio.getVersion() : 0;
+    }
+
+    static PublishedPortfolio render(Portfolio portfolio, ObjectMapper objectMapper) {
+        if (!portfolio.isPublic()) {
+            return new PublishedPortfolio(false, versionOf(portfolio), portfolio.getUpdatedAt(), null);
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(publicView(portfolio));
+            byte[][] bodies = new byte[Coding.values().length][];
+            bodies[Coding.IDENTITY.ordinal()] = json;
+            bodies[Coding.GZIP.ordinal()] = compress(json, GZIPOutputStream::new);
+            bodies[Coding.DEFLATE.ordinal()] = compress(json, DeflaterOutputStream::new);
+            return new PublishedPortfolio(true, versionOf(portfolio), portfolio.getUpdatedAt(), bodies);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // What the public page reads; no id, userId, resumeId or version
+    private static Map<String, Object> publicView(Portfolio portfolio) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("username", portfolio.getUsername());
+        view.put("theme", portfolio.getTheme());
+        view.put("isPublic", portfolio.isPublic());
+        view.put("content", portfolio.getContent());
+        view.put("createdAt", portfolio.getCreatedAt());
+        view.put("updatedAt", portfolio.getUpdatedAt());
+        return view;
+    }
+
+    public boolean isPublic() {
+        return isPublic;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** The JSON in {@code coding}; shared, so never to be modified. */
+    public byte[] body(Coding coding) {
+        if (bodies == null) {
+            throw new IllegalStateException("Portfolio is private");
+        }
+        return bodies[coding.ordinal()];
+    }
+
+    // Approximate bytes held, for the cache's weigher
+    int weight() {
+        int bytes = 64;
+        if (bodies != null) {
+            for (byte[] body : bodies) {
+                bytes += body.length;
+            }
+        }
+        return bytes;
+    }
+
+    private interface Compressor {
+        OutputStream wrap(OutputStream out) throws IOException;
+    }
+
+    private static byte[] compress(byte[] json, Compressor compressor) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (OutputStream out = compressor.wrap(buffer)) {
+            out.write(json);
+        }
+        return buffer.toByteArray();
+    }
+}
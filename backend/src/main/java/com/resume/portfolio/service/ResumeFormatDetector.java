@@ -0,0 +1,288 @@
+package com.resume.portfolio.service;
+
+import org.apache.tika.detect.Detector;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Magic-byte detector for the formats a resume may arrive in: PDF, DOCX, DOC, RTF,
+ * ODT and plain text. It reads a short prefix of the stream, or the whole of a ZIP
+ * or OLE2 container, and nothing else, so it replaces Tika's full MIME detection
+ * chain. Anything it does not recognize comes back as {@link MediaType#OCTET_STREAM},
+ * including the other containers Word files share a format with: spreadsheets,
+ * presentations, Outlook messages and plain ZIP archives never reach the Office
+ * parsers.
+ *
+ * <p>A DOCX is told apart from other ZIP files by the {@code [Content_Types].xml}
+ * and {@code word/document.xml} entries in its central directory, at the end of the
+ * archive: OOXML puts no order on entries, so large media or {@code docProps} parts
+ * may come first. A DOC is told apart from other OLE2 files by its root entry's
+ * class id or a {@code WordDocument} stream in its directory, which may lie
+ * anywhere in the file. Both containers are therefore read whole rather than by
+ * prefix.
+ */
+final class ResumeFormatDetector implements Detector {
+
+    static final MediaType PDF = MediaType.application("pdf");
+    static final MediaType DOCX = MediaType.application("vnd.openxmlformats-officedocument.wordprocessingml.document");
+    static final MediaType DOC = MediaType.application("msword");
+    static final MediaType RTF = MediaType.application("rtf");
+    static final MediaType ODT = MediaType.application("vnd.oasis.opendocument.text");
+    static final MediaType TEXT = MediaType.TEXT_PLAIN;
+
+    static final Set<MediaType> SUPPORTED = Set.of(PDF, DOCX, DOC, RTF, ODT, TEXT);
+
+    private static final int SNIFF_BYTES = 16 * 1024;
+
+    // ZIP and OLE2 files are read whole, up to the upload cap, to find their directory
+    private static final int MAX_CONTAINER_SNIFF_BYTES = 10 * 1024 * 1024;
+
+    private static final byte[] PDF_MAGIC = ascii("%PDF-");
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+    private static final byte[] OLE2_MAGIC = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+            (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] RTF_MAGIC = ascii("{\\rtf");
+    private static final byte[] ODT_MIMETYPE_ENTRY = ascii("mimetypeapplication/vnd.oasis.opendocument.text");
+    private static final byte[] OOXML_CONTENT_TYPES = ascii("[Content_Types].xml");
+    private static final byte[] DOCX_MAIN_PART = ascii("word/document.xml");
+    private static final long ZIP_END_SIGNATURE = 0x06054b50L;
+    private static final long ZIP_CENTRAL_SIGNATURE = 0x02014b50L;
+    private static final int ZIP_END_BYTES = 22;
+    private static final int ZIP_CENTRAL_BYTES = 46;
+    private static final int ZIP_MAX_COMMENT_BYTES = 0xFFFF;
+    private static final byte[] WORD_DOCUMENT_STREAM = "WordDocument".getBytes(StandardCharsets.UTF_16LE);
+    // {00020906-0000-0000-C000-000000000046}, Word.Document.8, as stored in a directory entry
+    private static final byte[] WORD_CLSID = {0x06, 0x09, 0x02, 0x00, 0x00, 0x00, 0x00, 0x00,
+            (byte) 0xC0, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x46};
+    private static final int OLE2_HEADER_BYTES = 512;
+    private static final int OLE2_HEADER_DIFAT_ENTRIES = 109;
+    private static final int OLE2_ENTRY_BYTES = 128;
+    private static final int OLE2_CLSID_OFFSET = 0x50;
+    private static final long OLE2_LAST_SECTOR = 0xFFFFFFFAL; // Values from here on mark chain ends
+    private static final int MAX_OLE2_DIRECTORY_SECTORS = 1024; // Guards against looping chains
+
+    @Override
+    public MediaType detect(InputStream input, Metadata metadata) throws IOException {
+        if (input == null) {
+            return MediaType.OCTET_STREAM;
+        }
+        byte[] head = sniff(input, SNIFF_BYTES);
+        if (isContainer(head) && head.length == SNIFF_BYTES) {
+            head = sniff(input, MAX_CONTAINER_SNIFF_BYTES);
+        }
+        return detect(head);
+    }
+
+    private static byte[] sniff(InputStream input, int length) throws IOException {
+        input.mark(length);
+        try {
+            return input.readNBytes(length);
+        } finally {
+            input.reset();
+        }
+    }
+
+    /** Detects the type of a document already held in memory. */
+    static MediaType detectDocument(byte[] document) {
+        if (document.length <= SNIFF_BYTES || isContainer(document)) {
+            return detect(document);
+        }
+        return detect(Arrays.copyOf(document, SNIFF_BYTES));
+    }
+
+    private static boolean isContainer(byte[] head) {
+        return startsWith(head, 0, ZIP_MAGIC) || startsWith(head, 0, OLE2_MAGIC);
+    }
+
+    /** Short name of a detected type, for metric tags and logs. */
+    static String tagOf(MediaType type) {
+        if (PDF.equals(type)) {
+            return "pdf";
+        } else if (DOCX.equals(type)) {
+            return "docx";
+        } else if (DOC.equals(type)) {
+            return "doc";
+        } else if (RTF.equals(type)) {
+            return "rtf";
+        } else if (ODT.equals(type)) {
+            return "odt";
+        } else if (TEXT.equals(type)) {
+            return "text";
+        }
+        return "other";
+    }
+
+    static MediaType detect(byte[] head) {
+        if (startsWith(head, 0, PDF_MAGIC)) {
+            return PDF;
+        }
+        if (startsWith(head, 0, ZIP_MAGIC)) {
+            // ODF stores an uncompressed "mimetype" entry first; its name starts at 30
+            if (startsWith(head, 30, ODT_MIMETYPE_ENTRY)) {
+                return ODT;
+            }
+            // Any other OOXML package (xlsx, pptx) or archive is turned away here
+            return isWordPackage(head) ? DOCX : MediaType.OCTET_STREAM;
+        }
+        if (startsWith(head, 0, OLE2_MAGIC)) {
+            return isWordBinary(head) ? DOC : MediaType.OCTET_STREAM;
+        }
+        if (startsWith(head, 0, RTF_MAGIC)) {
+            return RTF;
+        }
+        return looksLikeText(head) ? TEXT : MediaType.OCTET_STREAM;
+    }
+
+    // Both OOXML parts Word needs, looked up by name in the central directory. Where
+    // that can't be read (truncated, ZIP64) the local headers are searched instead.
+    private static boolean isWordPackage(byte[] data) {
+        int end = findZipEnd(data);
+        if (end < 0 || uint32(data, end + 16) == 0xFFFFFFFFL) {
+            return indexOf(data, OOXML_CONTENT_TYPES) >= 0 && indexOf(data, DOCX_MAIN_PART) >= 0;
+        }
+        int entries = uint16(data, end + 10);
+        long offset = uint32(data, end + 16);
+        boolean contentTypes = false;
+        boolean mainPart = false;
+        for (int i = 0; i < entries && offset + ZIP_CENTRAL_BYTES <= end; i++) {
+            int entry = (int) offset;
+            if (uint32(data, entry) != ZIP_CENTRAL_SIGNATURE) {
+                return false;
+            }
+            int nameLength = uint16(data, entry + 28);
+            if (entry + ZIP_CENTRAL_BYTES + nameLength > end) {
+                return false;
+            }
+            contentTypes |= isName(data, entry + ZIP_CENTRAL_BYTES, nameLength, OOXML_CONTENT_TYPES);
+            mainPart |= isName(data, entry + ZIP_CENTRAL_BYTES, nameLength, DOCX_MAIN_PART);
+            offset = entry + ZIP_CENTRAL_BYTES + nameLength + uint16(data, entry + 30) + uint16(data, entry + 32);
+        }
+        return contentTypes && mainPart;
+    }
+
+    // The end of central directory record, searched for backwards past any comment
+    private static int findZipEnd(byte[] data) {
+        int last = data.length - ZIP_END_BYTES;
+        for (int at = last; at >= 0 && at >= last - ZIP_MAX_COMMENT_BYTES; at--) {
+            if (uint32(data, at) == ZIP_END_SIGNATURE) {
+                return at;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isName(byte[] data, int offset, int length, byte[] name) {
+        return length == name.length && startsWith(data, offset, name);
+    }
+
+    // Word's class id on the root entry, or a WordDocument stream anywhere in the
+    // directory, whose sectors are followed through the FAT. Excel, PowerPoint and
+    // Outlook files have neither.
+    private static boolean isWordBinary(byte[] data) {
+        if (data.length < OLE2_HEADER_BYTES) {
+            return false;
+        }
+        int shift = uint16(data, 30);
+        if (shift != 9 && shift != 12) {
+            return false;
+        }
+        int sectorSize = 1 << shift;
+        long sector = uint32(data, 48);
+        for (int visited = 0; sector < OLE2_LAST_SECTOR && visited < MAX_OLE2_DIRECTORY_SECTORS; visited++) {
+            long start = (sector + 1) << shift;
+            if (start + sectorSize > data.length) {
+                return false;
+            }
+            if (visited == 0 && startsWith(data, (int) start + OLE2_CLSID_OFFSET, WORD_CLSID)) {
+                return true;
+            }
+            for (int entry = (int) start; entry < start + sectorSize; entry += OLE2_ENTRY_BYTES) {
+                if (uint16(data, entry + 64) == WORD_DOCUMENT_STREAM.length + 2
+                        && startsWith(data, entry, WORD_DOCUMENT_STREAM)) {
+                    return true;
+                }
+            }
+            sector = nextSector(data, sector, shift);
+        }
+        return false;
+    }
+
+    // The FAT entry for sector, found through the header's DIFAT (enough for files up
+    // to several MB at 512-byte sectors); past that the chain is treated as ended
+    private static long nextSector(byte[] data, long sector, int shift) {
+        long perFatSector = (1L << shift) / 4;
+        long fatIndex = sector / perFatSector;
+        if (fatIndex >= OLE2_HEADER_DIFAT_ENTRIES) {
+            return OLE2_LAST_SECTOR;
+        }
+        long fatSector = uint32(data, 76 + (int) fatIndex * 4);
+        if (fatSector >= OLE2_LAST_SECTOR) {
+            return OLE2_LAST_SECTOR;
+        }
+        long offset = ((fatSector + 1) << shift) + (sector % perFatSector) * 4;
+        return offset + 4 <= data.length ? uint32(data, (int) offset) : OLE2_LAST_SECTOR;
+    }
+
+    private static long uint32(byte[] data, int offset) {
+        return (data[offset] & 0xFFL) | (data[offset + 1] & 0xFFL) << 8 | (data[offset + 2] & 0xFFL) << 16
+                | (data[offset + 3] & 0xFFL) << 24;
+    }
+
+    private static int uint16(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8;
+    }
+
+    // UTF-16 text is recognized by its byte order mark; otherwise any NUL or a run of
+    // control characters means binary
+    private static boolean looksLikeText(byte[] head) {
+        if (head.length >= 2 && ((head[0] == (byte) 0xFE && head[1] == (byte) 0xFF)
+                || (head[0] == (byte) 0xFF && head[1] == (byte) 0xFE))) {
+            return true;
+        }
+        int control = 0;
+        for (byte b : head) {
+            if (b == 0) {
+                return false;
+            }
+            if (b > 0 && b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f' && b != 0x1B) {
+                control++;
+            }
+        }
+        return control * 20 <= head.length;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        if (data.length < offset + prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] data, byte[] needle) {
+        outer:
+        for (int i = 0; i + needle.length <= data.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (data[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
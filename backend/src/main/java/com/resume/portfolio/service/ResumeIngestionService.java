@@ -0,0 +1,246 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.Resume;
+import com.resume.portfolio.model.ResumeFingerprint;
+import com.resume.portfolio.model.ResumeJob;
+import com.resume.portfolio.repository.ResumeJobRepository;
+import com.resume.portfolio.repository.ResumeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-phase resume upload: the request thread only persists the file and records
+ * a job, the parse and portfolio-generation stages run on the bounded
+ * {@code resumeIngestionExecutor} pool and report progress through the job. An
+ * upload holds a {@link ParseAdmissionLimiter} slot from before its file is stored
+ * until its job ends.
+ *
+ * <p>Jobs live only in the executor's memory until they run, so a restart loses
+ * whatever was queued or running. Jobs that have not moved for
+ * {@code app.ingestion.stale-job-minutes} are failed with a reason, at startup and
+ * periodically after, rather than being reported in progress forever.
+ */
+@Service
+public class ResumeIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeIngestionService.class);
+
+    private static final List<ResumeJob.Status> UNFINISHED = List.of(
+            ResumeJob.Status.QUEUED, ResumeJob.Status.PARSING, ResumeJob.Status.GENERATING_PORTFOLIO);
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ResumeParserService resumeParserService;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private ResumeJobRepository resumeJobRepository;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private ParsedResumeCache parsedResumeCache;
+
+    @Autowired
+    private ParseAdmissionLimiter parseAdmissionLimiter;
+
+    @Autowired
+    @Qualifier("resumeIngestionExecutor")
+    private TaskExecutor resumeIngestionExecutor;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Far longer than a live job goes between status changes: it holds an admission
+    // slot, so it is never left waiting behind others, and its parse is time-limited
+    @Value("${app.ingestion.stale-job-minutes:10}")
+    private long staleJobMinutes;
+
+    /**
+     * Stores the upload and queues it for parsing.
+     *
+     * @throws AdmissionRejectedException if too many uploads are already being
+     *                                    parsed; nothing is kept in that case
+     * @throws TaskRejectedException      if the ingestion queue is full; nothing is
+     *                                    kept in that case
+     */
+    public ResumeJob submit(String userId, String username, MultipartFile file) throws IOException {
+        parseAdmissionLimiter.acquire();
+        boolean queued = false;
+        try {
+            ResumeJob job = store(userId, username, file);
+            queued = true;
+            return job;
+        } finally {
+            if (!queued) {
+                parseAdmissionLimiter.release();
+            }
+        }
+    }
+
+    private ResumeJob store(String userId, String username, MultipartFile file) throws IOException {
+        StoredFile stored = fileStorageService.storeFile(file, userId);
+        String fileName = stored.getFileName();
+
+        ResumeJob job = new ResumeJob();
+        job.setUserId(userId);
+        job.setUsername(username);
+        job.setOriginalFileName(file.getOriginalFilename());
+        job.setFileName(fileName);
+        job.setFileType(file.getContentType());
+        job.setContentHash(stored.getContentHash());
+        job.setStatus(ResumeJob.Status.QUEUED);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(LocalDateTime.now());
+        ResumeJob saved = resumeJobRepository.save(job);
+
+        try {
+            resumeIngestionExecutor.execute(() -> {
+                try {
+                    process(saved.getId());
+                } finally {
+                    parseAdmissionLimiter.release();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            resumeJobRepository.deleteById(saved.getId());
+            fileStorageService.deleteFile(fileName);
+            throw e;
+        }
+        return saved;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        failStaleJobs();
+    }
+
+    /**
+     * Fails the jobs that have sat unfinished for longer than any live job would,
+     * which are those a stopped instance had queued or was running. Their stored
+     * files are kept; the owner is asked to upload again.
+     */
+    @Scheduled(fixedDelayString = "${app.ingestion.stale-job-minutes:10}",
+            initialDelayString = "${app.ingestion.stale-job-minutes:10}",
+            timeUnit = TimeUnit.MINUTES)
+    public void failStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        Query stale = Query.query(Criteria.where("status").in(UNFINISHED)
+                .and("updatedAt").lt(now.minusMinutes(staleJobMinutes)));
+        Update failed = new Update()
+                .set("status", ResumeJob.Status.FAILED)
+                .set("error", "Processing was interrupted by a server restart. Please upload the file again.")
+                .set("completedAt", now)
+                .set("updatedAt", now);
+        try {
+            long count = mongoTemplate.updateMulti(stale, failed, ResumeJob.class).getModifiedCount();
+            if (count > 0) {
+                logger.warn("Failed {} resume jobs left unfinished for over {} minutes", count, staleJobMinutes);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not fail interrupted resume jobs: {}", e.getMessage());
+        }
+    }
+
+    public Optional<ResumeJob> getJob(String userId, String jobId) {
+        return resumeJobRepository.findByIdAndUserId(jobId, userId).map(job -> {
+            if (job.getResumeId() != null) {
+                resumeRepository.findById(job.getResumeId()).ifPresent(job::setResume);
+            }
+            return job;
+        });
+    }
+
+    void process(String jobId) {
+        ResumeJob job = resumeJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            logger.warn("Resume job {} disappeared before it could run", jobId);
+            return;
+        }
+
+        try {
+            updateStatus(job, ResumeJob.Status.PARSING);
+            Resume.ParsedResumeData parsedData;
+            byte[] extractedText;
+            Optional<ResumeFingerprint> known = parsedResumeCache.lookup(job.getContentHash());
+            if (known.isPresent()) {
+                // Same bytes were parsed before: reuse the result, keep this upload's own file
+                parsedData = known.get().getParsedData();
+                extractedText = known.get().getExtractedText();
+            } else {
+                ParsedDocument parsed;
+                try (InputStream in = fileStorageService.openFile(job.getFileName())) {
+                    parsed = resumeParserService.parseDocument(in);
+                }
+                parsedData = parsed.getParsedData();
+                extractedText = parsed.getExtractedText();
+                parsedResumeCache.record(job.getContentHash(), extractedText, parsedData);
+            }
+
+            Resume resume = new Resume();
+            resume.setUserId(job.getUserId());
+            resume.setOriginalFileName(job.getOriginalFileName());
+            resume.setFileUrl("/uploads/" + job.getFileName()); // Assuming static serve
+            resume.setFileType(job.getFileType());
+            resume.setParsedData(parsedData);
+            resume.setExtractedText(extractedText);
+            resume.setParserVersion(ResumeParserService.PARSER_VERSION);
+            resume.setCreatedAt(LocalDateTime.now());
+            resume.setUpdatedAt(LocalDateTime.now());
+
+            Resume savedResume = resumeRepository.save(resume);
+            job.setResumeId(savedResume.getId());
+
+            // Auto-generate portfolio from resume
+            updateStatus(job, ResumeJob.Status.GENERATING_PORTFOLIO);
+            try {
+                job.setPortfolioChanges(
+                        portfolioService.generatePortfolioFromResume(job.getUserId(), job.getUsername(),
+                                savedResume.getId()));
+            } catch (Exception e) {
+                // Log error but don't fail the upload
+                logger.error("Failed to auto-generate portfolio for job {}: {}", jobId, e.getMessage());
+            }
+
+            job.setCompletedAt(LocalDateTime.now());
+            updateStatus(job, ResumeJob.Status.COMPLETED);
+        } catch (Exception e) {
+            logger.error("Resume job {} failed: {}", jobId, e.getMessage());
+            job.setError("Could not process the file: " + e.getMessage());
+            job.setCompletedAt(LocalDateTime.now());
+            updateStatus(job, ResumeJob.Status.FAILED);
+        }
+    }
+
+    private void updateStatus(ResumeJob job, ResumeJob.Status status) {
+        job.setStatus(status);
+        job.setUpdatedAt(LocalDateTime.now());
+        resumeJobRepository.save(job);
+    }
+}
@@ -1,201 +1,447 @@
 package com.resume.portfolio.service;
 
 import com.resume.portfolio.model.Resume;
-import org.apache.tika.Tika;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.tika.mime.MediaType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
 public class ResumeParserService {
 
+    /**
+     * Bump whenever the extraction heuristics change so cached parse results
+     * ({@link ParsedResumeCache}) are no longer reused.
+     */
+    public static final int PARSER_VERSION = 3;
+
+    // Compiled once; every match runs over ParseBudget-guarded text
+    private static final Pattern EMAIL = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
+    private static final Pattern PHONE = Pattern.compile("(\\+\\d{1,3}[-.\\s]?)?\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}");
+    private static final Pattern LEADING_BULLET = Pattern.compile("^[•\\-–—*·\\s]+");
+    private static final Pattern SKILL_DELIMITER = Pattern.compile("[,|•·;]");
+    private static final Pattern YEAR_LINE = Pattern.compile(".*\\d{4}.*");
+    private static final Pattern YEAR = Pattern.compile("(\\d{4})");
+    private static final Pattern EXPERIENCE_DATE = Pattern.compile(
+            "(?i)(January|February|March|April|May|June|July|August|September|October|November|December|Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)\\s*\\d{4}|\\d{4}|Present|Current|–|-");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TITLE_AT_COMPANY = Pattern.compile("(?i)\\s+at\\s+|\\s*@\\s*");
+    private static final Pattern PIPE_OR_DASH = Pattern.compile("\\||-");
+    private static final Pattern COMPANY_SUFFIX = Pattern.compile(".*(?i)(Inc|LLC|Corp|Ltd|Solutions|Systems|Technologies).*");
+    private static final Pattern EDUCATION_DATE = Pattern.compile("\\d{4}|[-–—]|Present");
+    private static final Pattern PIPE_LINE = Pattern.compile(".*[|].*");
+    private static final Pattern PROJECT_DATE = Pattern.compile(
+            "(?i)((Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)[a-z]*\\.?)?\\s*\\d{4}.*");
+    private static final Pattern URL = Pattern.compile("(https?://[^\\s]+)");
+
+    private final TikaTextExtractor textExtractor;
+    private final SkillTaxonomy skillTaxonomy;
+    private final HeaderClassifier headerClassifier;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeBudget;
+
+    // Present only with app.parser.mode=forked
+    @Autowired(required = false)
+    private ForkedParserPool forkedParserPool;
+
+    // Sections of documents with at least this many lines are extracted concurrently
+    // on the pool; without a pool (benchmarks, forked workers) or at 0, never
+    @Autowired(required = false)
+    @Qualifier("resumeExtractorPool")
+    private ForkJoinPool extractorPool;
+
+    @Value("${app.parser.parallel-min-lines:300}")
+    private int parallelMinLines;
+
+    public ResumeParserService(TikaTextExtractor textExtractor, SkillTaxonomy skillTaxonomy,
+            HeaderClassifier headerClassifier, MeterRegistry meterRegistry,
+            @Value("${app.parser.time-budget-ms:5000}") long timeBudgetMs) {
+        this.textExtractor = textExtractor;
+        this.skillTaxonomy = skillTaxonomy;
+        this.headerClassifier = headerClassifier;
+        this.meterRegistry = meterRegistry;
+        this.timeBudget = Duration.ofMillis(timeBudgetMs);
+    }
+
+    /**
+     * Runs the section extractors of documents with at least {@code minLines} lines
+     * on {@code pool}. For callers that build the service by hand; Spring wires both.
+     */
+    void useParallelExtraction(ForkJoinPool pool, int minLines) {
+        this.extractorPool = pool;
+        this.parallelMinLines = minLines;
+    }
+
     public Resume.ParsedResumeData parseResume(InputStream inputStream) throws Exception {
-        Tika tika = new Tika();
-        String content = tika.parseToString(inputStream);
+        return parseDocument(inputStream).getParsedData();
+    }
+
+    /**
+     * Extracts and parses a resume within the configured time budget. When the budget
+     * runs out the stages that did not finish are left empty and the result is
+     * flagged {@link Resume.ParsedResumeData#isPartial() partial}. In forked mode the
+     * work happens in a {@link ForkedParserPool} worker under the same budget.
+     */
+    public ParsedDocument parseDocument(InputStream inputStream) throws Exception {
+        if (forkedParserPool != null) {
+            return parseForked(inputStream);
+        }
+
+        ParseBudget budget = ParseBudget.of(timeBudget);
+        ExtractedText.Builder text = new ExtractedText.Builder();
+        StreamingParse parse = new StreamingParse(budget, text);
+
+        long started = System.nanoTime();
+        MediaType type = textExtractor.extractLines(inputStream, budget, parse);
+        parse.metrics.format(ResumeFormatDetector.tagOf(type));
+        parse.metrics.stage("extraction", System.nanoTime() - started - parse.lineNanos);
+        boolean extracted = !budget.isExhausted();
+        if (!extracted && !parse.data.isPartial()) {
+            recordOverrun("extraction", parse.data);
+        }
+
+        return new ParsedDocument(extracted ? text.toByteArray() : null, parse.finish());
+    }
+
+    /**
+     * Runs only the heuristic stage over text kept from an earlier extraction
+     * ({@link ParsedDocument#getExtractedText()}), under a fresh time budget.
+     */
+    public Resume.ParsedResumeData parseText(byte[] extractedText) {
+        StreamingParse parse = new StreamingParse(ParseBudget.of(timeBudget), null);
+        long started = System.nanoTime();
+        ExtractedText.readLines(extractedText, parse);
+        parse.metrics.format(ParseMetrics.KEPT_TEXT);
+        parse.metrics.stage("extraction", System.nanoTime() - started - parse.lineNanos);
+        return parse.finish();
+    }
 
-        // Normalize content
-        content = content.replace("\r\n", "\n").replace("\r", "\n");
+    // The stages run in the worker JVM, so only the round trip is timed here
+    private ParsedDocument parseForked(InputStream inputStream) throws Exception {
+        ParseMetrics metrics = new ParseMetrics();
+        byte[] document = inputStream.readAllBytes();
+        metrics.format(ResumeFormatDetector.tagOf(ResumeFormatDetector.detectDocument(document)));
+
+        long started = System.nanoTime();
+        ParsedDocument parsed = forkedParserPool.parse(new ByteArrayInputStream(document));
+        metrics.stage("worker", System.nanoTime() - started);
+        if (parsed.getParsedData().isPartial()) {
+            recordOverrun("worker", parsed.getParsedData());
+        }
 
-        Resume.ParsedResumeData data = new Resume.ParsedResumeData();
+        int[] lines = { -1 };
+        if (parsed.getExtractedText() != null) {
+            lines[0] = 0;
+            ExtractedText.readLines(parsed.getExtractedText(), (line, emphasized) -> lines[0]++);
+        }
+        metrics.record(meterRegistry, lines[0], parsed.getParsedData());
+        return parsed;
+    }
 
-        // Extract basic information
-        data.setEmail(extractEmail(content));
-        data.setPhone(extractPhone(content));
-        data.setSummary(extractSummary(content));
+    /**
+     * Heuristic stage fed one line at a time, while extraction is still running.
+     * Email and phone are matched line by line until found, every line goes through
+     * the skill taxonomy's automaton, and each section is
+     * extracted as soon as the header after it arrives; only the summary (which may
+     * fall back to the top of the document) and cross-section clean-up wait for the
+     * end.
+     *
+     * <p>Once a document reaches {@code parallelMinLines}, sections that close from
+     * then on are set aside instead and extracted together on the extractor pool
+     * when the document is complete, while the summary runs on the calling thread.
+     * The extractors only read the finished document, and their results are taken
+     * in the order the sections closed, so the output is the same either way.
+     */
+    private final class StreamingParse implements TikaTextExtractor.LineSink, ResumeSections.Listener {
+        private final ParseBudget budget;
+        private final ExtractedText.Builder text;
+        private final ResumeSections doc = new ResumeSections(headerClassifier, this);
+        private final Map<SectionKind, List<?>> sections = new EnumMap<>(SectionKind.class);
+        private final Resume.ParsedResumeData data = new Resume.ParsedResumeData();
+        private final Map<String, SkillTaxonomy.Skill> mentionedSkills = new LinkedHashMap<>();
+        private final List<ResumeSections.Section> deferred = new ArrayList<>();
+        private final ParseMetrics metrics = new ParseMetrics();
+        private String email;
+        private String phone;
+        // Time inside line(), and the part of it spent in extractors of sections
+        // that closed there
+        private long lineNanos;
+        private long extractorNanos;
+
+        private StreamingParse(ParseBudget budget, ExtractedText.Builder text) {
+            this.budget = budget;
+            this.text = text;
+        }
 
-        // Extract skills
-        data.setSkills(extractSkills(content));
+        @Override
+        public void line(String line, boolean emphasized) {
+            long started = System.nanoTime();
+            if (text != null) {
+                text.line(line, emphasized);
+            }
+            if (email == null && line.indexOf('@') >= 0) {
+                email = emptyToNull(withinBudget("email", data, () -> extractEmail(line, budget), ""));
+            }
+            if (phone == null) {
+                phone = emptyToNull(withinBudget("phone", data, () -> extractPhone(line, budget), ""));
+            }
+            if (!data.isPartial()) {
+                skillTaxonomy.find(line, skill -> mentionedSkills.putIfAbsent(skill.id(), skill));
+            }
+            doc.addLine(line, emphasized);
+            lineNanos += System.nanoTime() - started;
+        }
 
-        // Extract experience
-        data.setExperience(extractExperience(content));
+        @Override
+        public void sectionClosed(ResumeSections.Section section) {
+            SectionKind kind = section.kind();
+            if (kind == SectionKind.SUMMARY) {
+                return;
+            }
+            if (extractorPool != null && parallelMinLines > 0 && doc.lineCount() >= parallelMinLines) {
+                deferred.add(section);
+                return;
+            }
+            long started = System.nanoTime();
+            sections.put(kind, withinBudget(kind.label(), data, () -> extract(section), new ArrayList<>()));
+            long elapsed = System.nanoTime() - started;
+            metrics.stage(kind.label(), elapsed);
+            extractorNanos += elapsed;
+        }
 
-        // Extract education
-        data.setEducation(extractEducation(content));
+        private List<?> extract(ResumeSections.Section section) {
+            switch (section.kind()) {
+                case SKILLS:
+                    return extractSkills(section, budget);
+                case EXPERIENCE:
+                    return extractExperience(section, budget);
+                case EDUCATION:
+                    return extractEducation(section, budget);
+                case PROJECTS:
+                    return extractProjects(section, budget);
+                default:
+                    return extractSimpleList(section, budget);
+            }
+        }
 
-        // Extract projects
-        data.setProjects(extractProjects(content));
+        private Resume.ParsedResumeData finish() {
+            metrics.stage("normalization", lineNanos - extractorNanos);
+            doc.finish();
+            List<ForkJoinTask<List<?>>> running = new ArrayList<>();
+            long[] runNanos = new long[deferred.size()];
+            for (int i = 0; i < deferred.size(); i++) {
+                ResumeSections.Section section = deferred.get(i);
+                int slot = i;
+                running.add(extractorPool.submit(() -> {
+                    long started = System.nanoTime();
+                    try {
+                        return extract(section);
+                    } finally {
+                        runNanos[slot] = System.nanoTime() - started;
+                    }
+                }));
+            }
 
-        // Extract additional sections
-        data.setCertifications(extractSimpleList(content,
-                new String[] { "certifications", "certificates", "credentials", "licenses" }));
+            data.setEmail(email != null ? email : "");
+            data.setPhone(phone != null ? phone : "");
+            long started = System.nanoTime();
+            data.setSummary(withinBudget("summary", data, () -> extractSummary(doc, budget), ""));
+            metrics.stage("summary", System.nanoTime() - started);
+            for (int i = 0; i < deferred.size(); i++) {
+                SectionKind kind = deferred.get(i).kind();
+                sections.put(kind, withinBudget(kind.label(), data, running.get(i)::join, new ArrayList<>()));
+                // Skipped once the parse is partial; only a finished task's time is safe to read
+                if (running.get(i).isDone()) {
+                    metrics.stage(kind.label(), runNanos[i]);
+                }
+            }
+            data.setSkills(skills(section(SectionKind.SKILLS)));
+            data.setSkillIds(new ArrayList<>(mentionedSkills.keySet()));
+            data.setExperience(section(SectionKind.EXPERIENCE));
+            data.setEducation(section(SectionKind.EDUCATION));
+            data.setProjects(section(SectionKind.PROJECTS));
+            data.setCertifications(section(SectionKind.CERTIFICATIONS));
+
+            List<String> rawLanguages = section(SectionKind.LANGUAGES);
+            // Clean up overlaps: a "language" that is a known skill's name, or repeats one
+            // listed under skills, was misclassified. Only whole entries count, so
+            // "French (C1 level)" stays though C is a skill.
+            Set<String> listedSkills = new HashSet<>();
+            data.getSkills().forEach(skill -> listedSkills.add(skill.toLowerCase()));
+            rawLanguages.removeIf(lang -> skillTaxonomy.isSkillName(lang)
+                    || listedSkills.contains(lang.trim().toLowerCase()));
+            data.setLanguages(rawLanguages);
+
+            data.setAwards(section(SectionKind.AWARDS));
+            metrics.record(meterRegistry, doc.lineCount(), data);
+            return data;
+        }
 
-        List<String> rawLanguages = extractSimpleList(content, new String[] { "languages", "spoken languages" });
-        // Clean up overlaps: if a skill was misclassified as a language, remove it from
-        // languages
-        if (data.getSkills() != null && !data.getSkills().isEmpty() && rawLanguages != null) {
-            rawLanguages.removeIf(lang -> data.getSkills().stream()
-                    .anyMatch(skill -> skill.equalsIgnoreCase(lang) || skill.toLowerCase().contains(lang.toLowerCase())
-                            || lang.toLowerCase().contains(skill.toLowerCase())));
+        // Skills as listed under the skills header, first spelling of each kept; a resume
+        // without that section gets the known skills it mentions elsewhere
+        private List<String> skills(List<String> listed) {
+            if (listed.isEmpty()) {
+                List<String> names = new ArrayList<>();
+                mentionedSkills.values().forEach(skill -> names.add(skill.name()));
+                return names;
+            }
+            Map<String, String> distinct = new LinkedHashMap<>();
+            listed.forEach(skill -> distinct.putIfAbsent(skill.toLowerCase(), skill));
+            return new ArrayList<>(distinct.values());
         }
-        data.setLanguages(rawLanguages);
 
-        data.setAwards(
-                extractSimpleList(content, new String[] { "awards", "honors", "achievements", "accomplishments" }));
+        @SuppressWarnings("unchecked")
+        private <T> List<T> section(SectionKind kind) {
+            List<?> items = sections.get(kind);
+            return items != null ? (List<T>) items : new ArrayList<>();
+        }
+    }
 
-        return data;
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
     }
 
-    private List<String> extractSimpleList(String content, String[] keywords) {
-        List<String> items = new ArrayList<>();
-        String[] lines = content.split("\n");
-        boolean inSection = false;
+    // Runs one stage unless the parse has already run out of time; a stage that
+    // overruns contributes the fallback instead of its partial work
+    private <T> T withinBudget(String stage, Resume.ParsedResumeData data, Supplier<T> extractor, T fallback) {
+        if (data.isPartial()) {
+            return fallback;
+        }
+        try {
+            return extractor.get();
+        } catch (ParseBudgetExceededException e) {
+            recordOverrun(stage, data);
+            return fallback;
+        }
+    }
 
-        for (String line : lines) {
-            String trimmedLine = line.trim();
-            if (trimmedLine.isEmpty())
-                continue;
+    private void recordOverrun(String stage, Resume.ParsedResumeData data) {
+        data.setPartial(true);
+        Counter.builder("resume.parser.budget.overruns")
+                .description("Parses cut short by the per-document time budget")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment();
+    }
 
-            String lowerLine = trimmedLine.toLowerCase();
-            boolean isHeader = isSectionHeader(lowerLine);
+    // The extractors below are package-private so the benchmarks can drive them
+    // one at a time; they are not part of the service API.
 
-            // Check start of section
-            if (isHeader) {
-                boolean matchFound = false;
-                for (String keyword : keywords) {
-                    if (lowerLine.contains(keyword)) {
-                        matchFound = true;
-                        break;
-                    }
-                }
-                if (matchFound) {
-                    inSection = true;
-                    // Check for inline content (e.g., "Languages: English, Spanish")
-                    if (trimmedLine.contains(":")) {
-                        String[] parts = trimmedLine.split(":", 2);
-                        if (parts.length > 1 && !parts[1].trim().isEmpty()) {
-                            // It has inline content, treat as an item (or split by commas)
-                            String explicitContent = parts[1].trim();
-                            // If languages, maybe comma separated?
-                            if (explicitContent.contains(",")) {
-                                Arrays.stream(explicitContent.split(",")).forEach(s -> {
-                                    String c = cleanText(s);
-                                    if (!c.isEmpty())
-                                        items.add(c);
-                                });
-                            } else {
-                                items.add(cleanText(explicitContent));
-                            }
+    List<String> extractSimpleList(ResumeSections.Section section, ParseBudget budget) {
+        List<String> items = new ArrayList<>();
+        boolean isLanguages = section.kind() == SectionKind.LANGUAGES;
+
+        for (int i = 0; i < section.size(); i++) {
+            budget.check();
+            String trimmedLine = section.line(i);
+
+            // Section (re)start
+            if (section.isOpeningHeader(i)) {
+                // Check for inline content (e.g., "Languages: English, Spanish")
+                if (trimmedLine.contains(":")) {
+                    String[] parts = trimmedLine.split(":", 2);
+                    if (parts.length > 1 && !parts[1].trim().isEmpty()) {
+                        // It has inline content, treat as an item (or split by commas)
+                        String explicitContent = parts[1].trim();
+                        // If languages, maybe comma separated?
+                        if (explicitContent.contains(",")) {
+                            Arrays.stream(explicitContent.split(",")).forEach(s -> {
+                                String c = cleanText(s);
+                                if (!c.isEmpty())
+                                    items.add(c);
+                            });
+                        } else {
+                            items.add(cleanText(explicitContent));
                         }
                     }
-                    continue;
-                }
-            }
-
-            // Check end of section
-            if (inSection && isHeader) {
-                boolean matchFound = false;
-                for (String keyword : keywords) {
-                    if (lowerLine.contains(keyword)) {
-                        matchFound = true; // It's the same section header repeated
-                        break;
-                    }
-                }
-                if (!matchFound) {
-                    break;
                 }
+                continue;
             }
 
-            if (inSection) {
-                // Remove bullet points
-                String cleaned = trimmedLine.replaceAll("^[•\\-–—*·\\s]+", "").trim();
-                if (!cleaned.isEmpty() && cleaned.length() > 2) {
-                    // If it looks like a separated list (comma separated on one line), split it
-                    // Good for Languages or multiple short Certs
-                    if (cleaned.contains(",") && cleaned.length() < 100 && keywords[0].contains("language")) { // simple
-                                                                                                               // heuristic
-                                                                                                               // for
-                                                                                                               // languages
-                        Arrays.stream(cleaned.split(",")).forEach(s -> {
-                            String c = cleanText(s);
-                            if (!c.isEmpty())
-                                items.add(c);
-                        });
-                    } else {
-                        items.add(cleaned);
-                    }
+            // Remove bullet points
+            String cleaned = LEADING_BULLET.matcher(budget.guard(trimmedLine)).replaceAll("").trim();
+            if (!cleaned.isEmpty() && cleaned.length() > 2) {
+                // If it looks like a separated list (comma separated on one line), split it
+                // Good for Languages or multiple short Certs
+                if (cleaned.contains(",") && cleaned.length() < 100 && isLanguages) {
+                    Arrays.stream(cleaned.split(",")).forEach(s -> {
+                        String c = cleanText(s);
+                        if (!c.isEmpty())
+                            items.add(c);
+                    });
+                } else {
+                    items.add(cleaned);
                 }
             }
         }
-        System.out.println("Parsed " + keywords[0] + ": " + items); // Debug log
         return items;
     }
 
-    private String extractEmail(String content) {
-        Pattern pattern = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
-        Matcher matcher = pattern.matcher(content);
-        return matcher.find() ? matcher.group() : "";
+    String extractEmail(String content, ParseBudget budget) {
+        // An address never spans lines, so only lines that contain an '@' are scanned;
+        // the first hit is still the first address in the document
+        Matcher matcher = EMAIL.matcher(budget.guard(content));
+        int at = content.indexOf('@');
+        while (at >= 0) {
+            int lineStart = content.lastIndexOf('\n', at) + 1;
+            int lineEnd = content.indexOf('\n', at);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+            if (matcher.region(lineStart, lineEnd).find()) {
+                return matcher.group();
+            }
+            at = content.indexOf('@', lineEnd);
+        }
+        return "";
     }
 
-    private String extractPhone(String content) {
+    String extractPhone(String content, ParseBudget budget) {
         // More robust phone regex
-        Pattern pattern = Pattern.compile("(\\+\\d{1,3}[-.\\s]?)?\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}");
-        Matcher matcher = pattern.matcher(content);
+        Matcher matcher = PHONE.matcher(budget.guard(content));
         return matcher.find() ? matcher.group() : "";
     }
 
-    private String extractSummary(String content) {
-        String[] lines = content.split("\n");
+    String extractSummary(ResumeSections doc, ParseBudget budget) {
+        ResumeSections.Section section = doc.section(SectionKind.SUMMARY);
         StringBuilder summary = new StringBuilder();
-        boolean inSummary = false;
-
-        for (String line : lines) {
-            String trimmedLine = line.trim();
-            if (trimmedLine.isEmpty())
-                continue;
-
-            String lowerLine = trimmedLine.toLowerCase();
 
-            // Detect start of summary
-            if (isSectionHeader(lowerLine) && (lowerLine.contains("summary") || lowerLine.contains("objective")
-                    || lowerLine.contains("profile") || lowerLine.contains("about"))) {
-                inSummary = true;
+        for (int i = 0; i < section.size(); i++) {
+            budget.check();
+            if (section.isOpeningHeader(i)) {
                 continue;
             }
-
-            // Detect end of summary (start of another section)
-            if (inSummary && isSectionHeader(lowerLine) && !lowerLine.contains("summary")
-                    && !lowerLine.contains("objective") && !lowerLine.contains("profile")
-                    && !lowerLine.contains("about")) {
-                break;
-            }
-
-            if (inSummary) {
-                summary.append(trimmedLine).append(" ");
-            }
+            summary.append(section.line(i)).append(" ");
         }
 
         // Fallback: if no summary section found, take the first paragraph that isn't a
         // header/contact info
         if (summary.length() == 0) {
+            ResumeSections.Section all = doc.all();
             int lineCount = 0;
-            for (String line : lines) {
-                String trimmed = line.trim();
-                if (!trimmed.isEmpty() && !isSectionHeader(trimmed.toLowerCase()) && !trimmed.contains("@")) {
+            for (int i = 0; i < all.size(); i++) {
+                String trimmed = all.line(i);
+                if (!all.isHeader(i) && !trimmed.contains("@")) {
                     summary.append(trimmed).append(" ");
                     lineCount++;
                     if (lineCount >= 4)
@@ -207,27 +453,19 @@ public class ResumeParserService {
         return summary.toString().trim();
     }
 
-    private List<String> extractSkills(String content) {
+    List<String> extractSkills(ResumeSections.Section section, ParseBudget budget) {
         List<String> skills = new ArrayList<>();
-        String[] lines = content.split("\n");
-        boolean inSkills = false;
-
-        for (String line : lines) {
-            String trimmedLine = line.trim();
-            if (trimmedLine.isEmpty())
-                continue;
 
-            String lowerLine = trimmedLine.toLowerCase();
-
-            if (isSectionHeader(lowerLine) && (lowerLine.contains("skills") || lowerLine.contains("technologies")
-                    || lowerLine.contains("competencies") || lowerLine.contains("stack"))) {
-                inSkills = true;
+        for (int i = 0; i < section.size(); i++) {
+            budget.check();
+            String trimmedLine = section.line(i);
 
+            if (section.isOpeningHeader(i)) {
                 // Allow inline skills on the header line (e.g., "Skills: Java, C++")
                 if (trimmedLine.contains(":") && trimmedLine.indexOf(":") < 40) {
                     String inlineContent = trimmedLine.substring(trimmedLine.indexOf(":") + 1).trim();
                     if (!inlineContent.isEmpty()) {
-                        String[] tokens = inlineContent.split("[,|•·;]");
+                        String[] tokens = SKILL_DELIMITER.split(budget.guard(inlineContent));
                         for (String token : tokens) {
                             String skill = token.trim();
                             if (!skill.isEmpty() && skill.length() > 1 && skill.length() < 30) {
@@ -239,34 +477,20 @@ public class ResumeParserService {
                 continue;
             }
 
-            if (inSkills && isSectionHeader(lowerLine) && !lowerLine.contains("skills")
-                    && !lowerLine.contains("technologies") && !lowerLine.contains("competencies")
-                    && !lowerLine.contains("stack")) {
-
-                // Don't break if it's a known skills sub-category
-                if (lowerLine.matches(
-                        "^(languages?|frameworks?|tools?|databases?|libraries?|web technologies?|concepts?|platforms?|programming languages?|core competencies?)\\s*(:.*)?$")) {
-                    // Keep accumulating skills
-                } else {
-                    break;
-                }
+            // Known skills sub-categories (e.g. "Frameworks:") stay inside the section
+            // Remove category prefixes (e.g., "Programming Languages: Python" -> "Python")
+            String lineToProcess = trimmedLine;
+            if (lineToProcess.contains(":") && lineToProcess.indexOf(":") < 40) {
+                lineToProcess = lineToProcess.substring(lineToProcess.indexOf(":") + 1).trim();
             }
 
-            if (inSkills) {
-                // Remove category prefixes (e.g., "Programming Languages: Python" -> "Python")
-                String lineToProcess = trimmedLine;
-                if (lineToProcess.contains(":") && lineToProcess.indexOf(":") < 40) {
-                    lineToProcess = lineToProcess.substring(lineToProcess.indexOf(":") + 1).trim();
-                }
-
-                // Split by common delimiters: comma, pipe, bullet points
-                String[] tokens = lineToProcess.split("[,|•·;]");
-                for (String token : tokens) {
-                    String skill = token.trim();
-                    // Filter out noise
-                    if (!skill.isEmpty() && skill.length() > 1 && skill.length() < 30) {
-                        skills.add(skill);
-                    }
+            // Split by common delimiters: comma, pipe, bullet points
+            String[] tokens = SKILL_DELIMITER.split(budget.guard(lineToProcess));
+            for (String token : tokens) {
+                String skill = token.trim();
+                // Filter out noise
+                if (!skill.isEmpty() && skill.length() > 1 && skill.length() < 30) {
+                    skills.add(skill);
                 }
             }
         }
@@ -274,113 +498,93 @@ public class ResumeParserService {
         return skills;
     }
 
-    private List<Resume.Experience> extractExperience(String content) {
+    List<Resume.Experience> extractExperience(ResumeSections.Section section, ParseBudget budget) {
         List<Resume.Experience> experiences = new ArrayList<>();
-        String[] lines = content.split("\n");
-        boolean inExperience = false;
         Resume.Experience currentExp = null;
         String prevLine = "";
 
-        for (String line : lines) {
-            String trimmedLine = line.trim();
-            if (trimmedLine.isEmpty())
-                continue;
-
-            String lowerLine = trimmedLine.toLowerCase();
+        for (int i = 0; i < section.size(); i++) {
+            budget.check();
+            String trimmedLine = section.line(i);
 
             // Start of Experience Section
-            if (isSectionHeader(lowerLine) && (lowerLine.contains("experience") || lowerLine.contains("employment")
-                    || lowerLine.contains("work history"))) {
-                inExperience = true;
+            if (section.isOpeningHeader(i)) {
                 prevLine = trimmedLine;
                 continue;
             }
 
-            // End of Experience Section (Start of another section)
-            if (inExperience && isSectionHeader(lowerLine) && !lowerLine.contains("experience")
-                    && !lowerLine.contains("employment")) {
+            // Check if line indicates a new job entry (has date range)
+            if (containsDateRange(trimmedLine, budget)) {
                 if (currentExp != null) {
                     experiences.add(currentExp);
-                    currentExp = null; // Reset to avoid double adding
                 }
-                break;
-            }
+                currentExp = new Resume.Experience();
 
-            if (inExperience) {
-                // Check if line indicates a new job entry (has date range)
-                if (containsDateRange(trimmedLine)) {
-                    if (currentExp != null) {
-                        experiences.add(currentExp);
-                    }
-                    currentExp = new Resume.Experience();
-
-                    extractDates(trimmedLine, currentExp);
-
-                    // Remove dates to analyze remaining text
-                    String textWithoutDates = trimmedLine.replaceAll(
-                            "(?i)(January|February|March|April|May|June|July|August|September|October|November|December|Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)\\s*\\d{4}|\\d{4}|Present|Current|–|-",
-                            "").trim();
-                    textWithoutDates = textWithoutDates.replaceAll("\\s+", " ").trim();
-
-                    // Heuristic 1: "Title at Company" or "Title @ Company"
-                    if (textWithoutDates.toLowerCase().contains(" at ") || textWithoutDates.contains("@")) {
-                        String[] parts = textWithoutDates.split("(?i)\\s+at\\s+|\\s*@\\s*");
-                        if (parts.length > 1) {
-                            currentExp.setTitle(cleanText(parts[0]));
-                            currentExp.setCompany(cleanText(parts[1]));
-                        } else {
-                            currentExp.setTitle(cleanText(textWithoutDates));
-                        }
+                extractDates(trimmedLine, currentExp, budget);
+
+                // Remove dates to analyze remaining text
+                String textWithoutDates = EXPERIENCE_DATE.matcher(budget.guard(trimmedLine)).replaceAll("").trim();
+                textWithoutDates = WHITESPACE.matcher(budget.guard(textWithoutDates)).replaceAll(" ").trim();
+
+                // Heuristic 1: "Title at Company" or "Title @ Company"
+                if (textWithoutDates.toLowerCase().contains(" at ") || textWithoutDates.contains("@")) {
+                    String[] parts = TITLE_AT_COMPANY.split(budget.guard(textWithoutDates));
+                    if (parts.length > 1) {
+                        currentExp.setTitle(cleanText(parts[0]));
+                        currentExp.setCompany(cleanText(parts[1]));
+                    } else {
+                        currentExp.setTitle(cleanText(textWithoutDates));
                     }
-                    // Heuristic 2: Separated by pipe or dash (if dash wasn't just a date separator)
-                    else if (textWithoutDates.contains("|")
-                            || (textWithoutDates.contains("-") && textWithoutDates.length() > 5)) {
-                        String[] parts = textWithoutDates.split("\\||-");
-                        if (parts.length > 1) {
-                            String p1 = cleanText(parts[0]);
-                            String p2 = cleanText(parts[1]);
-                            // Guess which is company based on common entity suffixes or length
-                            if (p2.matches(".*(?i)(Inc|LLC|Corp|Ltd|Solutions|Systems|Technologies).*")
-                                    || p1.length() > p2.length()) {
-                                currentExp.setTitle(p1);
-                                currentExp.setCompany(p2);
-                            } else {
-                                currentExp.setCompany(p1);
-                                currentExp.setTitle(p2);
-                            }
+                }
+                // Heuristic 2: Separated by pipe or dash (if dash wasn't just a date separator)
+                else if (textWithoutDates.contains("|")
+                        || (textWithoutDates.contains("-") && textWithoutDates.length() > 5)) {
+                    String[] parts = PIPE_OR_DASH.split(budget.guard(textWithoutDates));
+                    if (parts.length > 1) {
+                        String p1 = cleanText(parts[0]);
+                        String p2 = cleanText(parts[1]);
+                        // Guess which is company based on common entity suffixes or length
+                        if (COMPANY_SUFFIX.matcher(budget.guard(p2)).matches()
+                                || p1.length() > p2.length()) {
+                            currentExp.setTitle(p1);
+                            currentExp.setCompany(p2);
                         } else {
-                            currentExp.setTitle(cleanText(textWithoutDates));
+                            currentExp.setCompany(p1);
+                            currentExp.setTitle(p2);
                         }
-                    }
-                    // Heuristic 3: Check previous line for Company Name if current line is just
-                    // Title/Date
-                    else {
+                    } else {
                         currentExp.setTitle(cleanText(textWithoutDates));
-                        if (!prevLine.isEmpty() && !containsDateRange(prevLine) && !isSectionHeader(prevLine)
-                                && prevLine.length() < 50) {
-                            currentExp.setCompany(cleanText(prevLine));
-                        }
-                    }
-
-                    if (currentExp.getTitle().isEmpty()) {
-                        currentExp.setTitle("Position");
                     }
-                } else if (currentExp != null) {
-                    // If Company is still empty, the very next line might be the company
-                    if ((currentExp.getCompany() == null || currentExp.getCompany().isEmpty())
-                            && !isBulletPoint(trimmedLine)) {
-                        currentExp.setCompany(trimmedLine);
-                    } else {
-                        // Otherwise it's a description
-                        String desc = currentExp.getDescription() != null ? currentExp.getDescription() : "";
-                        currentExp.setDescription(desc + " " + trimmedLine);
+                }
+                // Heuristic 3: Check previous line for Company Name if current line is just
+                // Title/Date
+                else {
+                    currentExp.setTitle(cleanText(textWithoutDates));
+                    if (!prevLine.isEmpty() && !containsDateRange(prevLine, budget)
+                            && !headerClassifier.classify(prevLine.toLowerCase()).isHeader()
+                            && prevLine.length() < 50) {
+                        currentExp.setCompany(cleanText(prevLine));
                     }
                 }
+
+                if (currentExp.getTitle().isEmpty()) {
+                    currentExp.setTitle("Position");
+                }
+            } else if (currentExp != null) {
+                // If Company is still empty, the very next line might be the company
+                if ((currentExp.getCompany() == null || currentExp.getCompany().isEmpty())
+                        && !isBulletPoint(trimmedLine)) {
+                    currentExp.setCompany(trimmedLine);
+                } else {
+                    // Otherwise it's a description
+                    String desc = currentExp.getDescription() != null ? currentExp.getDescription() : "";
+                    currentExp.setDescription(desc + " " + trimmedLine);
+                }
             }
             prevLine = trimmedLine;
         }
 
-        // Add the last one if loop finished naturally
+        // Add the last one
         if (currentExp != null) {
             experiences.add(currentExp);
         }
@@ -388,8 +592,22 @@ public class ResumeParserService {
         return experiences;
     }
 
+    // Strips leading and trailing runs of anything but ASCII letters and digits (what
+    // "^[\\W_]+|[\\W_]+$" used to remove, without its quadratic backtracking)
     private String cleanText(String text) {
-        return text.replaceAll("^[\\W_]+|[\\W_]+$", "").trim();
+        int start = 0;
+        int end = text.length();
+        while (start < end && !isAsciiAlphanumeric(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && !isAsciiAlphanumeric(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(start, end);
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
     }
 
     private boolean isBulletPoint(String line) {
@@ -397,60 +615,42 @@ public class ResumeParserService {
                 || line.trim().startsWith("·");
     }
 
-    private List<Resume.Education> extractEducation(String content) {
+    List<Resume.Education> extractEducation(ResumeSections.Section section, ParseBudget budget) {
         List<Resume.Education> educationList = new ArrayList<>();
-        String[] lines = content.split("\n");
-        boolean inEducation = false;
         Resume.Education currentEdu = null;
 
-        for (String line : lines) {
-            String trimmedLine = line.trim();
-            if (trimmedLine.isEmpty())
-                continue;
-
-            String lowerLine = trimmedLine.toLowerCase();
+        for (int i = 0; i < section.size(); i++) {
+            budget.check();
+            String trimmedLine = section.line(i);
 
-            if (isSectionHeader(lowerLine) && (lowerLine.contains("education") || lowerLine.contains("academic")
-                    || lowerLine.contains("qualification"))) {
-                inEducation = true;
+            if (section.isOpeningHeader(i)) {
                 continue;
             }
 
-            if (inEducation && isSectionHeader(lowerLine) && !lowerLine.contains("education")
-                    && !lowerLine.contains("academic")) {
+            if (containsDateRange(trimmedLine, budget)) {
                 if (currentEdu != null) {
                     educationList.add(currentEdu);
-                    currentEdu = null;
                 }
-                break;
-            }
-
-            if (inEducation) {
-                if (containsDateRange(trimmedLine) || trimmedLine.matches(".*\\d{4}.*")) {
-                    if (currentEdu != null) {
-                        educationList.add(currentEdu);
-                    }
-                    currentEdu = new Resume.Education();
+                currentEdu = new Resume.Education();
 
-                    extractDates(trimmedLine, currentEdu);
+                extractDates(trimmedLine, currentEdu, budget);
 
-                    // Heuristic for degree/school
-                    String text = trimmedLine.replaceAll("\\d{4}|[-–—]|Present", "").trim();
-                    if (text.length() > 0) {
-                        currentEdu.setDegree(text);
-                    }
-                } else if (currentEdu != null) {
-                    if (currentEdu.getSchool() == null) {
-                        currentEdu.setSchool(trimmedLine);
+                // Heuristic for degree/school
+                String text = EDUCATION_DATE.matcher(budget.guard(trimmedLine)).replaceAll("").trim();
+                if (text.length() > 0) {
+                    currentEdu.setDegree(text);
+                }
+            } else if (currentEdu != null) {
+                if (currentEdu.getSchool() == null) {
+                    currentEdu.setSchool(trimmedLine);
+                } else {
+                    // Append to degree if it looks like a degree
+                    if (trimmedLine.toLowerCase().contains("bachelor")
+                            || trimmedLine.toLowerCase().contains("master")
+                            || trimmedLine.toLowerCase().contains("degree")) {
+                        currentEdu.setDegree(currentEdu.getDegree() + " " + trimmedLine);
                     } else {
-                        // Append to degree if it looks like a degree
-                        if (trimmedLine.toLowerCase().contains("bachelor")
-                                || trimmedLine.toLowerCase().contains("master")
-                                || trimmedLine.toLowerCase().contains("degree")) {
-                            currentEdu.setDegree(currentEdu.getDegree() + " " + trimmedLine);
-                        } else {
-                            currentEdu.setSchool(currentEdu.getSchool() + ", " + trimmedLine);
-                        }
+                        currentEdu.setSchool(currentEdu.getSchool() + ", " + trimmedLine);
                     }
                 }
             }
@@ -463,30 +663,14 @@ public class ResumeParserService {
         return educationList;
     }
 
-    private List<Resume.Project> extractProjects(String content) {
+    List<Resume.Project> extractProjects(ResumeSections.Section section, ParseBudget budget) {
         List<Resume.Project> projects = new ArrayList<>();
-        String[] lines = content.split("\n");
-        boolean inProjects = false;
         List<String> projectSectionBuffer = new ArrayList<>();
 
-        // 1. Isolate Project Section
-        for (String line : lines) {
-            String trimmedLine = line.trim();
-            if (trimmedLine.isEmpty())
-                continue;
-            String lowerLine = trimmedLine.toLowerCase();
-
-            if (isSectionHeader(lowerLine) && (lowerLine.contains("projects") || lowerLine.contains("portfolio"))) {
-                inProjects = true;
-                continue;
-            }
-
-            if (inProjects && isSectionHeader(lowerLine) && !lowerLine.contains("projects")) {
-                break;
-            }
-
-            if (inProjects) {
-                projectSectionBuffer.add(trimmedLine);
+        // 1. Collect the body lines of the project section
+        for (int i = 0; i < section.size(); i++) {
+            if (!section.isOpeningHeader(i)) {
+                projectSectionBuffer.add(section.line(i));
             }
         }
 
@@ -494,12 +678,13 @@ public class ResumeParserService {
         Resume.Project currentProject = null;
 
         for (int i = 0; i < projectSectionBuffer.size(); i++) {
+            budget.check();
             String line = projectSectionBuffer.get(i);
             String nextLine = (i + 1 < projectSectionBuffer.size()) ? projectSectionBuffer.get(i + 1) : "";
 
             boolean isBullet = isBulletPoint(line);
             boolean isNextBullet = isBulletPoint(nextLine);
-            boolean hasDate = containsDateRange(line) || line.matches(".*\\d{4}.*");
+            boolean hasDate = containsDateRange(line, budget);
 
             // Heuristic for Title:
             // 1. Never a bullet point.
@@ -513,7 +698,7 @@ public class ResumeParserService {
             boolean looksLikeTitle = !isBullet && !line.endsWith(".") && (hasDate ||
                     isNextBullet ||
                     (nextLine.toLowerCase().contains("tech") && nextLine.contains(":")) ||
-                    line.matches(".*[|].*") || // Pipe separator often Title | Tools
+                    PIPE_LINE.matcher(budget.guard(line)).matches() || // Pipe separator often Title | Tools
                     (line.length() < 60 && Character.isUpperCase(line.charAt(0)) && !line.contains("http")
                             && !line.contains("@")));
 
@@ -538,8 +723,7 @@ public class ResumeParserService {
                     if (parts.length > 1)
                         descPart = parts[1].trim();
                 } else if (hasDate) {
-                    String dateRegex = "(?i)((Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)[a-z]*\\.?)?\\s*\\d{4}.*";
-                    String nameNoDate = line.replaceAll(dateRegex, "").trim();
+                    String nameNoDate = PROJECT_DATE.matcher(budget.guard(line)).replaceAll("").trim();
                     if (nameNoDate.length() > 2)
                         name = nameNoDate;
                 }
@@ -567,8 +751,7 @@ public class ResumeParserService {
 
                 // Also check for URL
                 if (line.contains("http")) {
-                    Pattern urlPattern = Pattern.compile("(https?://[^\\s]+)");
-                    Matcher urlMatcher = urlPattern.matcher(line);
+                    Matcher urlMatcher = URL.matcher(budget.guard(line));
                     if (urlMatcher.find()) {
                         currentProject.setUrl(urlMatcher.group(1));
                     }
@@ -585,8 +768,6 @@ public class ResumeParserService {
         if (currentProject != null) {
             projects.add(currentProject);
         }
-
-        System.out.println("Title-to-Title Extraction: found " + projects.size() + " projects.");
         return projects;
     }
 
@@ -620,35 +801,6 @@ public class ResumeParserService {
 
     // Helper methods
 
-    private boolean isSectionHeader(String line) {
-        String l = line.toLowerCase();
-        // Section headers are usually short and contain specific keywords
-        if (l.length() > 60) // Relaxed from 30
-            return false;
-
-        // Prevent sub-headers within skills from false-triggering section breaks
-        // (resulting in overlap with languages)
-        if (l.contains("programming language") || l.contains("programming languages")
-                || l.contains("markup language")) {
-            return false;
-        }
-
-        return l.equals("experience") || l.equals("work experience") || l.equals("education") ||
-                l.equals("skills") || l.equals("technical skills") || l.equals("projects") ||
-                l.equals("summary") || l.equals("objective") || l.equals("profile") ||
-                l.equals("certifications") || l.equals("activities") || l.equals("achievements") ||
-                l.equals("workshops") || l.equals("languages") || l.equals("interests") ||
-                l.equals("awards") || l.equals("publications") || l.equals("references") ||
-                l.equals("volunteering") ||
-                l.contains("experience") || l.contains("education") || l.contains("skill") || l.contains("project") ||
-                l.contains("certificat") || l.contains("activit") || l.contains("achieve") ||
-                l.contains("workshop") || l.contains("language") || l.contains("interest") ||
-                l.contains("award") || l.contains("publicat") || l.contains("reference") ||
-                l.contains("volunteer") || l.contains("curricular") ||
-                l.contains("contact") || l.contains("link") || l.contains("social") || l.contains("connect") ||
-                l.equals("additional info") || l.equals("miscellaneous");
-    }
-
     private boolean isTitleCandidate(String line, boolean isBulletPoint, boolean isDateLine, boolean hasDate) {
         if (isBulletPoint || isDateLine)
             return false;
@@ -667,13 +819,12 @@ public class ResumeParserService {
                 (line.equals(line.toUpperCase()) && line.length() > 3 && !line.matches(".*[0-9].*"));
     }
 
-    private boolean containsDateRange(String line) {
-        return line.matches(".*\\d{4}.*");
+    private boolean containsDateRange(String line, ParseBudget budget) {
+        return YEAR_LINE.matcher(budget.guard(line)).matches();
     }
 
-    private void extractDates(String line, Object target) {
-        Pattern datePattern = Pattern.compile("(\\d{4})");
-        Matcher matcher = datePattern.matcher(line);
+    private void extractDates(String line, Object target, ParseBudget budget) {
+        Matcher matcher = YEAR.matcher(budget.guard(line));
         String start = null;
         String end = null;
 
@@ -0,0 +1,222 @@
+package com.resume.portfolio.service;
+
+import com.resume.portfolio.model.ReprocessingRun;
+import com.resume.portfolio.model.Resume;
+import com.resume.portfolio.repository.ReprocessingRunRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Brings stored resumes up to the current {@link ResumeParserService#PARSER_VERSION}
+ * by re-running only the heuristic stage over their kept text; Tika is never
+ * involved. Resumes are walked in id order one page at a time, each page is parsed
+ * in parallel on the {@code bulkImportPool}, and the run checkpoints after every
+ * page so it can be paused or survive a restart. Throughput is capped by
+ * {@code app.reprocess.max-per-second} to leave room for live uploads.
+ */
+@Service
+public class ResumeReprocessingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeReprocessingService.class);
+
+    private static final String RUN_ID = "resume-parser";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReprocessingRunRepository runRepository;
+
+    @Autowired
+    private ResumeParserService resumeParserService;
+
+    @Autowired
+    @Qualifier("bulkImportPool")
+    private ExecutorService bulkImportPool;
+
+    @Value("${app.reprocess.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.reprocess.max-per-second:500}")
+    private int maxPerSecond;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean pauseRequested;
+
+    /**
+     * Starts a run in the background, continuing from the last checkpoint if the
+     * previous run for this parser version did not finish.
+     */
+    public ReprocessingRun start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Reprocessing is already running");
+        }
+        try {
+            ReprocessingRun run = runRepository.findById(RUN_ID)
+                    .filter(previous -> previous.getParserVersion() == ResumeParserService.PARSER_VERSION
+                            && previous.getStatus() != ReprocessingRun.Status.COMPLETED)
+                    .orElseGet(this::newRun);
+            run.setStatus(ReprocessingRun.Status.RUNNING);
+            run.setError(null);
+            run.setUpdatedAt(LocalDateTime.now());
+            ReprocessingRun saved = runRepository.save(run);
+
+            pauseRequested = false;
+            Thread worker = new Thread(() -> process(saved), "resume-reprocessing");
+            worker.setDaemon(true);
+            worker.start();
+            return saved;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /** Stops after the page in progress; {@link #start()} picks up from there. */
+    public void pause() {
+        pauseRequested = true;
+    }
+
+    public Optional<ReprocessingRun> status() {
+        return runRepository.findById(RUN_ID).map(run -> {
+            if (run.getStatus() == ReprocessingRun.Status.RUNNING && !running.get()) {
+                // Left RUNNING by a restart; nothing is working on it in this instance
+                run.setStatus(ReprocessingRun.Status.PAUSED);
+            }
+            return run;
+        });
+    }
+
+    private ReprocessingRun newRun() {
+        ReprocessingRun run = new ReprocessingRun();
+        run.setId(RUN_ID);
+        run.setParserVersion(ResumeParserService.PARSER_VERSION);
+        run.setTotal(mongoTemplate.count(new Query(behindCurrentVersion()), Resume.class));
+        run.setStartedAt(LocalDateTime.now());
+        return run;
+    }
+
+    private void process(ReprocessingRun run) {
+        try {
+            while (!pauseRequested) {
+                long pageStarted = System.nanoTime();
+                List<Resume> page = nextPage(run.getLastResumeId());
+                if (page.isEmpty()) {
+                    run.setStatus(ReprocessingRun.Status.COMPLETED);
+                    run.setCompletedAt(LocalDateTime.now());
+                    break;
+                }
+
+                reparse(page, run);
+                run.setLastResumeId(page.get(page.size() - 1).getId());
+                run.setUpdatedAt(LocalDateTime.now());
+                runRepository.save(run);
+
+                throttle(page.size(), System.nanoTime() - pageStarted);
+            }
+            if (run.getStatus() == ReprocessingRun.Status.RUNNING) {
+                run.setStatus(ReprocessingRun.Status.PAUSED);
+            }
+        } catch (Exception e) {
+            logger.error("Resume reprocessing stopped after {}: {}", run.getLastResumeId(), e.getMessage());
+            run.setStatus(ReprocessingRun.Status.FAILED);
+            run.setError(e.getMessage());
+        } finally {
+            run.setUpdatedAt(LocalDateTime.now());
+            runRepository.save(run);
+            running.set(false);
+            logger.info("Resume reprocessing {}: {} reparsed, {} skipped, {} failed", run.getStatus(),
+                    run.getReparsed(), run.getSkipped(), run.getFailed());
+        }
+    }
+
+    private List<Resume> nextPage(String lastResumeId) {
+        Criteria criteria = behindCurrentVersion();
+        if (lastResumeId != null) {
+            criteria = new Criteria().andOperator(Criteria.where("_id").gt(new ObjectId(lastResumeId)), criteria);
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+        query.fields().include("_id").include("extractedText");
+        return mongoTemplate.find(query, Resume.class);
+    }
+
+    private void reparse(List<Resume> page, ReprocessingRun run) {
+        List<Resume> withText = new ArrayList<>();
+        List<CompletableFuture<Resume.ParsedResumeData>> results = new ArrayList<>();
+        for (Resume resume : page) {
+            if (resume.getExtractedText() == null) {
+                run.setSkipped(run.getSkipped() + 1);
+                continue;
+            }
+            withText.add(resume);
+            results.add(CompletableFuture.supplyAsync(
+                    () -> resumeParserService.parseText(resume.getExtractedText()),
+                    bulkImportPool));
+        }
+        if (withText.isEmpty()) {
+            return;
+        }
+
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Resume.class);
+        int queued = 0;
+        for (int i = 0; i < withText.size(); i++) {
+            Resume.ParsedResumeData parsedData;
+            try {
+                parsedData = results.get(i).join();
+            } catch (RuntimeException e) {
+                parsedData = null;
+            }
+            if (parsedData == null || parsedData.isPartial()) {
+                // Keep the complete result from the older parser over a cut-short one
+                run.setFailed(run.getFailed() + 1);
+                continue;
+            }
+            // Guarded on the version so a resume re-uploaded meanwhile is left alone
+            Query target = new Query(new Criteria().andOperator(
+                    Criteria.where("_id").is(new ObjectId(withText.get(i).getId())), behindCurrentVersion()));
+            updates.updateOne(target, new Update()
+                    .set("parsedData", parsedData)
+                    .set("parserVersion", ResumeParserService.PARSER_VERSION)
+                    .set("updatedAt", LocalDateTime.now()));
+            queued++;
+        }
+        if (queued > 0) {
+            updates.execute();
+            run.setReparsed(run.getReparsed() + queued);
+        }
+    }
+
+    private void throttle(int processed, long elapsedNanos) throws InterruptedException {
+        long minimumNanos = TimeUnit.SECONDS.toNanos(processed) / Math.max(maxPerSecond, 1);
+        if (elapsedNanos < minimumNanos) {
+            TimeUnit.NANOSECONDS.sleep(minimumNanos - elapsedNanos);
+        }
+    }
+
+    // Resumes saved before versions were recorded have no parserVersion at all
+    private static Criteria behindCurrentVersion() {
+        return new Criteria().orOperator(
+                Criteria.where("parserVersion").lt(ResumeParserService.PARSER_VERSION),
+                Criteria.where("parserVersion").exists(false));
+    }
+}
@@ -0,0 +1,167 @@
+package com.resume.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Line index over resume text, built incrementally as lines arrive. Every non-empty
+ * line is trimmed, lower-cased and classified by the {@link HeaderClassifier}
+ * exactly once, and the first occurrence of each {@link SectionKind} is recorded as
+ * a line range so extractors only walk their own slice. A section's range is final
+ * as soon as the header after it arrives, at which point the {@link Listener} is
+ * told.
+ */
+final class ResumeSections {
+
+    private static final SectionKind[] KINDS = SectionKind.values();
+
+    /** Notified when a section can no longer grow, possibly long before the end of the document. */
+    interface Listener {
+        void sectionClosed(Section section);
+    }
+
+    private final List<String> lines = new ArrayList<>();
+    private final List<HeaderClassifier.Result> classes = new ArrayList<>();
+    private final BitSet headers = new BitSet();
+    private final int[] starts = new int[KINDS.length];
+    private final int[] ends = new int[KINDS.length];
+    private final HeaderClassifier classifier;
+    private final Listener listener;
+
+    ResumeSections(HeaderClassifier classifier, Listener listener) {
+        this.classifier = classifier;
+        this.listener = listener;
+        Arrays.fill(starts, -1);
+        Arrays.fill(ends, -1);
+    }
+
+    /** Indexes complete, newline-separated text in one go. */
+    static ResumeSections index(String content, HeaderClassifier classifier) {
+        ResumeSections doc = new ResumeSections(classifier, null);
+        int from = 0;
+        int length = content.length();
+        while (from <= length) {
+            int to = content.indexOf('\n', from);
+            if (to < 0) {
+                to = length;
+            }
+            doc.addLine(content.substring(from, to), false);
+            from = to + 1;
+        }
+        doc.finish();
+        return doc;
+    }
+
+    /**
+     * Adds the next line of the document. {@code emphasized} is the layout hint from
+     * extraction (the whole line was a heading or bold); it lets a short line that
+     * names a section count as a header even when the keyword heuristics miss it.
+     */
+    void addLine(String line, boolean emphasized) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty()) {
+            return;
+        }
+
+        String lower = trimmed.toLowerCase();
+        HeaderClassifier.Result cls = classifier.classify(lower);
+        boolean header = cls.isHeader() || (emphasized && cls.opensAny());
+        int index = lines.size();
+        lines.add(trimmed);
+        classes.add(cls);
+        if (!header) {
+            return;
+        }
+        headers.set(index);
+
+        for (SectionKind kind : KINDS) {
+            int k = kind.ordinal();
+            if (starts[k] < 0) {
+                if (cls.opens(kind)) {
+                    starts[k] = index;
+                }
+            } else if (ends[k] < 0 && !cls.continues(kind)) {
+                ends[k] = index;
+                closed(kind);
+            }
+        }
+    }
+
+    /** Ends the document; sections still open run to the last line. */
+    void finish() {
+        for (SectionKind kind : KINDS) {
+            int k = kind.ordinal();
+            if (starts[k] >= 0 && ends[k] < 0) {
+                ends[k] = lines.size();
+                closed(kind);
+            }
+        }
+    }
+
+    /** The first section of the given kind, or an empty slice if the resume has none (yet). */
+    Section section(SectionKind kind) {
+        int k = kind.ordinal();
+        if (starts[k] < 0) {
+            return new Section(kind, 0, 0);
+        }
+        return new Section(kind, starts[k], ends[k] < 0 ? lines.size() : ends[k]);
+    }
+
+    /** The whole document as one slice. */
+    Section all() {
+        return new Section(null, 0, lines.size());
+    }
+
+    int lineCount() {
+        return lines.size();
+    }
+
+    private void closed(SectionKind kind) {
+        if (listener != null) {
+            listener.sectionClosed(section(kind));
+        }
+    }
+
+    /**
+     * A contiguous run of lines [start, end). For a real section the first line is
+     * the header that opened it.
+     */
+    final class Section {
+        private final SectionKind kind;
+        private final int start;
+        private final int end;
+
+        private Section(SectionKind kind, int start, int end) {
+            this.kind = kind;
+            this.start = start;
+            this.end = end;
+        }
+
+        SectionKind kind() {
+            return kind;
+        }
+
+        int size() {
+            return end - start;
+        }
+
+        boolean isEmpty() {
+            return end == start;
+        }
+
+        String line(int i) {
+            return lines.get(start + i);
+        }
+
+        boolean isHeader(int i) {
+            return headers.get(start + i);
+        }
+
+        /** Whether line {@code i} is a header that (re)opens this section. */
+        boolean isOpeningHeader(int i) {
+            return kind != null && headers.get(start + i) && classes.get(start + i).opens(kind);
+        }
+    }
+}
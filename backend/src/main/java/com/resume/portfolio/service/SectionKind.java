@@ -0,0 +1,25 @@
+package com.resume.portfolio.service;
+
+import java.util.Locale;
+
+/**
+ * Resume sections the parser knows how to extract. Which header lines open and
+ * continue each kind is configured in the {@link HeaderClassifier} keyword table,
+ * where a kind is referred to by its {@link #label()}.
+ */
+enum SectionKind {
+    SUMMARY,
+    SKILLS,
+    EXPERIENCE,
+    EDUCATION,
+    PROJECTS,
+    CERTIFICATIONS,
+    LANGUAGES,
+    AWARDS;
+
+    private final String label = name().toLowerCase(Locale.ROOT);
+
+    String label() {
+        return label;
+    }
+}
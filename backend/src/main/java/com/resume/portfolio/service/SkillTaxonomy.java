@@ -0,0 +1,194 @@
+package com.resume.portfolio.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Known skills with their canonical names and aliases ("JS", "ECMAScript" for
+ * JavaScript), loaded from {@code app.parser.skill-taxonomy} (format documented in
+ * {@code skill-taxonomy.txt}). Every name and alias is compiled into one Aho-Corasick
+ * automaton, so finding all skills in a piece of text is a single pass over its
+ * characters however large the taxonomy grows (see {@link KeywordAutomaton}).
+ *
+ * <p>Matching ignores case except for aliases marked exact, and only counts whole
+ * words: the characters around a match may not be letters, digits or one of
+ * {@code + # & _}, so "Java" is not found in "JavaScript" nor "C" in "C++" or "R&D".
+ * Where matches overlap the leftmost, then longest, wins ("Spring Boot" over a
+ * shorter alias inside it).
+ */
+@Component
+public class SkillTaxonomy {
+
+    public static final String DEFAULT_LOCATION = "classpath:skill-taxonomy.txt";
+
+    /** A canonical skill: a stable id for indexing and the name shown to users. */
+    public static final class Skill {
+        private final String id;
+        private final String name;
+
+        private Skill(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+
+    // Every name and alias, by keyword number in the automaton
+    private final List<String> aliases = new ArrayList<>();
+    private final List<Skill> aliasSkills = new ArrayList<>();
+    private final List<Boolean> aliasExact = new ArrayList<>();
+    // Alias numbers by lower-cased alias, for whole-text lookups
+    private final Map<String, Integer> aliasNumbers = new HashMap<>();
+    private final KeywordAutomaton automaton;
+
+    public SkillTaxonomy(@Value("${app.parser.skill-taxonomy:" + DEFAULT_LOCATION + "}") String location) {
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            load(reader, location);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read skill taxonomy " + location, e);
+        }
+        automaton = new KeywordAutomaton(aliases);
+    }
+
+    /** Reports every skill mentioned in {@code text}, once per mention, in text order. */
+    public void find(CharSequence text, Consumer<Skill> sink) {
+        List<int[]> matches = null;
+        int state = KeywordAutomaton.START;
+        for (int i = 0; i < text.length(); i++) {
+            state = automaton.next(state, text.charAt(i));
+            for (int alias : automaton.matches(state)) {
+                int start = i + 1 - automaton.length(alias);
+                if (isMatch(text, start, i + 1, alias)) {
+                    if (matches == null) {
+                        matches = new ArrayList<>();
+                    }
+                    matches.add(new int[] { start, i + 1, alias });
+                }
+            }
+        }
+        if (matches == null) {
+            return;
+        }
+
+        matches.sort(Comparator.<int[]>comparingInt(m -> m[0]).thenComparingInt(m -> -m[1]));
+        int covered = 0;
+        for (int[] match : matches) {
+            if (match[0] >= covered) {
+                sink.accept(aliasSkills.get(match[2]));
+                covered = match[1];
+            }
+        }
+    }
+
+    /**
+     * Whether {@code text}, trimmed, is a skill's name or alias in full, not merely
+     * mentions one; "C1 level" or "R&D" are not skill names though they contain one.
+     */
+    public boolean isSkillName(String text) {
+        String name = text.trim();
+        Integer alias = aliasNumbers.get(name.toLowerCase());
+        return alias != null && (!aliasExact.get(alias) || aliases.get(alias).equals(name));
+    }
+
+    /** Distinct skills mentioned in {@code text}, by first mention. */
+    public List<Skill> findAll(CharSequence text) {
+        Map<String, Skill> found = new LinkedHashMap<>();
+        find(text, skill -> found.putIfAbsent(skill.id(), skill));
+        return new ArrayList<>(found.values());
+    }
+
+    private boolean isMatch(CharSequence text, int start, int end, int alias) {
+        if ((start > 0 && isWordChar(text.charAt(start - 1))) || (end < text.length() && isWordChar(text.charAt(end)))) {
+            return false;
+        }
+        if (aliasExact.get(alias)) {
+            String expected = aliases.get(alias);
+            for (int i = 0; i < expected.length(); i++) {
+                if (text.charAt(start + i) != expected.charAt(i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#' || c == '&' || c == '_';
+    }
+
+    private void load(BufferedReader reader, String location) throws IOException {
+        Map<String, Skill> byId = new HashMap<>();
+        Map<String, Skill> byAlias = new HashMap<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalStateException(location + ":" + lineNumber + ": expected 'id: Name, alias, ...'");
+            }
+            String id = line.substring(0, colon).trim();
+            String[] names = Arrays.stream(line.substring(colon + 1).split(","))
+                    .map(String::trim).filter(n -> !n.isEmpty() && !n.equals("=")).toArray(String[]::new);
+            if (names.length == 0) {
+                throw new IllegalStateException(location + ":" + lineNumber + ": skill '" + id + "' has no name");
+            }
+            if (byId.containsKey(id)) {
+                throw new IllegalStateException(location + ":" + lineNumber + ": duplicate skill id '" + id + "'");
+            }
+
+            Skill skill = new Skill(id, stripExact(names[0]));
+            byId.put(id, skill);
+            for (String name : names) {
+                String alias = stripExact(name);
+                Skill previous = byAlias.putIfAbsent(alias.toLowerCase(), skill);
+                if (previous != null && previous != skill) {
+                    throw new IllegalStateException(location + ":" + lineNumber + ": '" + alias
+                            + "' already names skill '" + previous.id() + "'");
+                }
+                aliasNumbers.putIfAbsent(alias.toLowerCase(), aliases.size());
+                aliases.add(alias);
+                aliasSkills.add(skill);
+                aliasExact.add(name.startsWith("="));
+            }
+        }
+    }
+
+    private static String stripExact(String name) {
+        return name.startsWith("=") ? name.substring(1).trim() : name;
+    }
+}
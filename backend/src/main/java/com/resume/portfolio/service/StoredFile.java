@@ -0,0 +1,16 @@
+package com.resume.portfolio.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Result of persisting an upload: the stored name plus the SHA-256 of the bytes,
+ * computed while they were written.
+ */
+@Data
+@AllArgsConstructor
+public class StoredFile {
+    private String fileName;
+    private String contentHash;
+    private long size;
+}
@@ -0,0 +1,261 @@
+package com.resume.portfolio.service;
+
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.UnsupportedFormatException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.extractor.EmbeddedDocumentExtractor;
+import org.apache.tika.extractor.ParsingEmbeddedDocumentExtractor;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.parser.microsoft.OfficeParser;
+import org.apache.tika.parser.microsoft.ooxml.OOXMLParser;
+import org.apache.tika.parser.microsoft.rtf.RTFParser;
+import org.apache.tika.parser.odf.OpenDocumentParser;
+import org.apache.tika.parser.pdf.PDFParser;
+import org.apache.tika.parser.txt.TXTParser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Shared Tika front end for the resume parser. Rather than Tika's full registry,
+ * only the parsers for the accepted formats are instantiated, and documents are
+ * routed to them by {@link ResumeFormatDetector}'s magic-byte sniffing; anything
+ * else is rejected before a parser sees it. The parser set is built once and
+ * warmed at startup ({@link AutoDetectParser} is thread-safe), and every
+ * extraction runs under an explicit budget: text stops being collected after
+ * {@code maxChars} characters and at most {@code maxEmbeddedResources} embedded
+ * documents (attachments, OLE objects) are descended into. A {@link ParseBudget}
+ * additionally bounds the time spent: once it runs out the parse is abandoned at the
+ * next SAX event.
+ *
+ * <p>Body text is never collected into one string. SAX events are cut into lines as
+ * they arrive and handed to a {@link LineSink} together with a layout hint, so the
+ * caller can work on the document while Tika is still decoding it.
+ */
+@Component
+public class TikaTextExtractor {
+
+    /** Receives body text one line at a time, in document order. */
+    public interface LineSink {
+        /**
+         * @param line       the raw line, without its line break
+         * @param emphasized every visible character of the line sat inside a heading or
+         *                   bold run
+         */
+        void line(String line, boolean emphasized);
+    }
+
+    private final ResumeFormatDetector detector = new ResumeFormatDetector();
+    private final AutoDetectParser parser = new AutoDetectParser(detector,
+            new PDFParser(), new OOXMLParser(), new OfficeParser(), new RTFParser(),
+            new OpenDocumentParser(), new TXTParser());
+    private final int maxChars;
+    private final int maxEmbeddedResources;
+
+    public TikaTextExtractor(@Value("${app.parser.max-chars:100000}") int maxChars,
+            @Value("${app.parser.max-embedded-resources:10}") int maxEmbeddedResources) {
+        this.maxChars = maxChars;
+        this.maxEmbeddedResources = maxEmbeddedResources;
+        warmUp();
+    }
+
+    /**
+     * Streams the body text of a document to {@code sink}. Text beyond the character
+     * budget is dropped rather than treated as an error; when the time budget runs
+     * out the lines seen so far are all the caller gets, which it can tell by
+     * {@link ParseBudget#isExhausted()}. The stream is not closed.
+     *
+     * @return the detected document type
+     * @throws UnsupportedFormatException if the content is not one of the accepted
+     *                                    resume formats
+     */
+    public MediaType extractLines(InputStream inputStream, ParseBudget budget, LineSink sink)
+            throws IOException, TikaException {
+        InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+        MediaType type = detector.detect(in, new Metadata());
+        if (!ResumeFormatDetector.SUPPORTED.contains(type)) {
+            throw new UnsupportedFormatException("Not a PDF, Word, RTF, ODT or plain text document");
+        }
+
+        LineHandler handler = new LineHandler(sink, budget, maxChars);
+        try {
+            parser.parse(in, new BodyContentHandler(handler), new Metadata(), newContext());
+        } catch (SAXException e) {
+            if (!budget.isExhausted() && !WriteLimitReachedException.isWriteLimitReached(e)) {
+                throw new TikaException("Unexpected SAX processing failure", e);
+            }
+        } catch (IOException | TikaException e) {
+            // Some parsers wrap handler failures; a spent budget is not a parse error
+            if (!budget.isExhausted()) {
+                throw e;
+            }
+        }
+        handler.flush();
+        return type;
+    }
+
+    private ParseContext newContext() {
+        ParseContext context = new ParseContext();
+        context.set(Parser.class, parser);
+        context.set(EmbeddedDocumentExtractor.class, new ParsingEmbeddedDocumentExtractor(context) {
+            private int embedded;
+
+            @Override
+            public boolean shouldParseEmbedded(Metadata metadata) {
+                return embedded++ < maxEmbeddedResources && super.shouldParseEmbedded(metadata);
+            }
+        });
+        return context;
+    }
+
+    /**
+     * Turns the XHTML body into lines. Text is taken exactly as Tika's text handler
+     * would write it (characters and ignorable whitespace, minus style and script
+     * content, capped at {@code maxChars}) and split on \n, \r\n and \r.
+     */
+    private static final class LineHandler extends DefaultHandler {
+        private final LineSink sink;
+        private final ParseBudget budget;
+        private final int maxChars;
+        private final StringBuilder line = new StringBuilder();
+        private int written;
+        private int hiddenDepth;
+        private int emphasisDepth;
+        private boolean lineHasText;
+        private boolean lineEmphasized = true;
+        private boolean afterCarriageReturn;
+        private boolean flushed;
+
+        private LineHandler(LineSink sink, ParseBudget budget, int maxChars) {
+            this.sink = sink;
+            this.budget = budget;
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String name, Attributes atts) throws SAXException {
+            checkBudget();
+            if (isHidden(localName)) {
+                hiddenDepth++;
+            } else if (isEmphasis(localName)) {
+                emphasisDepth++;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String name) {
+            if (isHidden(localName)) {
+                hiddenDepth--;
+            } else if (isEmphasis(localName)) {
+                emphasisDepth--;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            checkBudget();
+            int allowed = maxChars < 0 ? length : Math.min(length, maxChars - written);
+            if (hiddenDepth == 0) {
+                append(ch, start, allowed);
+            }
+            written += allowed;
+            if (allowed < length) {
+                throw new WriteLimitReachedException(maxChars);
+            }
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            characters(ch, start, length);
+        }
+
+        /** Emits the last line; the text always ends with one, even if it is empty. */
+        void flush() {
+            if (!flushed) {
+                flushed = true;
+                endLine();
+            }
+        }
+
+        private void append(char[] ch, int start, int length) {
+            for (int i = start; i < start + length; i++) {
+                char c = ch[i];
+                if (c == '\n' && afterCarriageReturn) {
+                    afterCarriageReturn = false;
+                    continue;
+                }
+                afterCarriageReturn = c == '\r';
+                if (c == '\n' || c == '\r') {
+                    endLine();
+                    continue;
+                }
+                line.append(c);
+                // Anything trim() would keep counts as visible text
+                if (c > ' ') {
+                    lineHasText = true;
+                    if (emphasisDepth == 0) {
+                        lineEmphasized = false;
+                    }
+                }
+            }
+        }
+
+        private void endLine() {
+            sink.line(line.toString(), lineHasText && lineEmphasized);
+            line.setLength(0);
+            lineHasText = false;
+            lineEmphasized = true;
+        }
+
+        private void checkBudget() throws SAXException {
+            // Thrown as a SAXException so parsers propagate it instead of wrapping it
+            if (budget.isExhausted()) {
+                throw new SAXException(new ParseBudgetExceededException());
+            }
+        }
+
+        private static boolean isHidden(String element) {
+            return "style".equalsIgnoreCase(element) || "script".equalsIgnoreCase(element);
+        }
+
+        private static boolean isEmphasis(String element) {
+            switch (element) {
+                case "b":
+                case "strong":
+                case "h1":
+                case "h2":
+                case "h3":
+                case "h4":
+                case "h5":
+                case "h6":
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    // Forces detector and parser class loading before the first real upload
+    private void warmUp() {
+        try {
+            extractLines(new ByteArrayInputStream("Summary\nwarm-up".getBytes(StandardCharsets.UTF_8)),
+                    ParseBudget.unlimited(), (line, emphasized) -> {
+                    });
+        } catch (Exception ignored) {
+            // Best effort only; a real parse will surface any configuration problem
+        }
+    }
+}
@@ -1,6 +1,5 @@
 import React, { useState, useRef, useEffect } from 'react';
 import ResumeService from '../services/resume.service';
-import PortfolioService from '../services/portfolio.service';
 import { useNavigate } from 'react-router-dom';
 import { FiUploadCloud, FiCheck, FiX, FiFileText, FiCpu, FiLayout, FiClock, FiShield, FiCode, FiDatabase, FiServer } from 'react-icons/fi';
 import { motion, AnimatePresence } from 'framer-motion';
@@ -102,10 +101,12 @@ const ResumeUpload = () => {
             // Start actual upload
             const response = await ResumeService.uploadResume(selectedFile);
 
-            // Wait for minimal simulation time to ensure user sees the "cool" effects
-            await new Promise(r => setTimeout(r, 4000));
-
-            await PortfolioService.generatePortfolio(response.data.id);
+            // Parsing and portfolio generation run server-side; wait for the job while the
+            // simulation plays for at least the minimal time
+            await Promise.all([
+                ResumeService.waitForUploadJob(response.data.id),
+                new Promise(r => setTimeout(r, 4000)),
+            ]);
 
             clearInterval(simInterval);
             setProgress(100);
@@ -11,6 +11,26 @@ const uploadResume = (file) => {
     });
 };
 
+const getUploadJob = (jobId) => {
+    return api.get(`/resumes/jobs/${jobId}`);
+};
+
+// Uploads are processed in the background; poll the job until it settles
+const waitForUploadJob = async (jobId, intervalMs = 1000, timeoutMs = 120000) => {
+    const deadline = Date.now() + timeoutMs;
+    while (Date.now() < deadline) {
+        const { data: job } = await getUploadJob(jobId);
+        if (job.status === "COMPLETED") {
+            return job;
+        }
+        if (job.status === "FAILED") {
+            throw new Error(job.error || "Resume processing failed");
+        }
+        await new Promise((r) => setTimeout(r, intervalMs));
+    }
+    throw new Error("Timed out waiting for resume processing");
+};
+
 const getResumes = () => {
     return api.get("/resumes");
 };
@@ -21,6 +41,8 @@ const updateResume = (id, data) => {
 
 const ResumeService = {
     uploadResume,
+    getUploadJob,
+    waitForUploadJob,
     getResumes,
     updateResume,
 };